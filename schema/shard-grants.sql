@@ -0,0 +1,3 @@
+-- Выполняется контейнером MySQL при первом запуске, после создания пользователя app.
+-- Нужно для -Ddb.schema.perFork=true: задача createShardSchemas создаёт схемы app_shardN, форки тестов их очищают.
+GRANT ALL PRIVILEGES ON `app\_shard%`.* TO 'app'@'%';
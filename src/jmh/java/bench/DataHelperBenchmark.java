@@ -0,0 +1,65 @@
+package bench;
+
+import data.DataHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataHelperBenchmark {
+
+    @Benchmark
+    public String month() {
+        return DataHelper.getMonth(1);
+    }
+
+    @Benchmark
+    public String year() {
+        return DataHelper.getYear(1);
+    }
+
+    @Benchmark
+    public String invalidYear() {
+        return DataHelper.getInvalidYear();
+    }
+
+    @Benchmark
+    public String latinHolder() {
+        return DataHelper.getLatinHolder();
+    }
+
+    @Benchmark
+    public String cyrillicHolder() {
+        return DataHelper.getCyrillicHolder();
+    }
+
+    @Benchmark
+    public String cvc() {
+        return DataHelper.getCVC();
+    }
+
+    @Benchmark
+    public String invalidCvc() {
+        return DataHelper.getInvalidCVC();
+    }
+
+    @Benchmark
+    public DataHelper.CardInfo validCardInfo() {
+        return DataHelper.getValidCardInfo();
+    }
+
+    @Benchmark
+    public DataHelper.CardInfo declinedCardInfo() {
+        return DataHelper.getDeclinedCardInfo();
+    }
+}
@@ -0,0 +1,73 @@
+package bench;
+
+import data.SQLHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SQLHelperBenchmark {
+    private final Timestamp lastHour = Timestamp.valueOf(LocalDateTime.now().minusHours(1));
+    private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    private String transactionId;
+    private String bankId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Timestamp epoch = Timestamp.valueOf("1970-01-02 00:00:00");
+        transactionId = firstId(SQLHelper.findPaymentOrdersBetween(epoch, now));
+        bankId = firstId(SQLHelper.findCreditOrdersBetween(epoch, now));
+    }
+
+    private static String firstId(List<SQLHelper.OrderRecord> orders) {
+        return orders.isEmpty() ? "missing" : orders.get(0).getTransactionId();
+    }
+
+    @Benchmark
+    public String latestPaymentStatus() {
+        return SQLHelper.getPaymentStatus();
+    }
+
+    @Benchmark
+    public String latestCreditStatus() {
+        return SQLHelper.getCreditStatus();
+    }
+
+    @Benchmark
+    public String paymentStatusByTransactionId() {
+        return SQLHelper.getPaymentStatus(transactionId);
+    }
+
+    @Benchmark
+    public String creditStatusByBankId() {
+        return SQLHelper.getCreditStatus(bankId);
+    }
+
+    @Benchmark
+    public List<SQLHelper.OrderRecord> paymentOrdersBetween() {
+        return SQLHelper.findPaymentOrdersBetween(lastHour, now);
+    }
+
+    @Benchmark
+    public List<SQLHelper.OrderRecord> creditOrdersBetween() {
+        return SQLHelper.findCreditOrdersBetween(lastHour, now);
+    }
+}
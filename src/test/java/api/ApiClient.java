@@ -0,0 +1,61 @@
+package api;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import data.DataHelper;
+import lombok.SneakyThrows;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+public class ApiClient {
+    private static final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private static final Gson gson = new Gson();
+
+    private ApiClient() {
+    }
+
+    public static String getBaseUrl() {
+        return System.getProperty("sut.url", "http://localhost:8080");
+    }
+
+    @SneakyThrows
+    public static ApiResponse post(String path, DataHelper.CardInfo cardInfo) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(getBaseUrl() + path))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(cardInfo)))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        return new ApiResponse(response.statusCode(), parseStatus(response.body()), response.body(),
+                System.nanoTime() - start);
+    }
+
+    static String parseStatus(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            JsonElement json = JsonParser.parseString(body);
+            if (!json.isJsonObject()) {
+                return null;
+            }
+            JsonObject object = json.getAsJsonObject();
+            return object.has("status") && !object.get("status").isJsonNull()
+                    ? object.get("status").getAsString()
+                    : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+}
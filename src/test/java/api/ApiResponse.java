@@ -0,0 +1,19 @@
+package api;
+
+import lombok.Value;
+
+@Value
+public class ApiResponse {
+    int statusCode;
+    String status;
+    String body;
+    long durationNanos;
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+}
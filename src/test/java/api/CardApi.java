@@ -0,0 +1,71 @@
+package api;
+
+import data.DataHelper;
+import data.OrderTracker;
+
+public abstract class CardApi {
+    private final String path;
+    private ApiResponse response;
+    private OrderTracker order;
+
+    protected CardApi(String path) {
+        this.path = path;
+    }
+
+    protected abstract String getDbStatus(OrderTracker order);
+
+    protected abstract long getDbOrderCount(OrderTracker order);
+
+    public CardApi submit(DataHelper.CardInfo cardInfo) {
+        order = OrderTracker.start();
+        response = ApiClient.post(path, cardInfo);
+        return this;
+    }
+
+    public ApiResponse getResponse() {
+        return response;
+    }
+
+    public void verifyApproved() {
+        verifyProcessed("APPROVED");
+    }
+
+    public void verifyDeclined() {
+        verifyProcessed("DECLINED");
+    }
+
+    public void verifyRejected() {
+        if (response.isSuccessful()) {
+            throw new AssertionError(String.format(
+                    "Ожидался отказ в обработке запроса %s, но получен код %d: '%s'",
+                    path, response.getStatusCode(), response.getBody()));
+        }
+        long orders = getDbOrderCount(order);
+        if (orders != 0) {
+            throw new AssertionError(String.format(
+                    "Запрос %s отклонён с кодом %d, но в order_entity записано заказов: %d",
+                    path, response.getStatusCode(), orders));
+        }
+    }
+
+    public void verifyResponse(String expectedStatus) {
+        if (!response.isSuccessful()) {
+            throw new AssertionError(String.format(
+                    "Ожидался успешный ответ на %s, но получен код %d: '%s'",
+                    path, response.getStatusCode(), response.getBody()));
+        }
+        if (response.getStatus() != null && !expectedStatus.equals(response.getStatus())) {
+            throw new AssertionError(String.format(
+                    "Ожидался статус в ответе %s, но получен '%s'", expectedStatus, response.getStatus()));
+        }
+    }
+
+    private void verifyProcessed(String expectedStatus) {
+        verifyResponse(expectedStatus);
+        String dbStatus = getDbStatus(order);
+        if (!expectedStatus.equals(dbStatus)) {
+            throw new AssertionError(String.format(
+                    "Ожидался статус в БД %s, но найден '%s'", expectedStatus, dbStatus));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package api;
+
+import data.OrderTracker;
+
+public class CreditApi extends CardApi {
+
+    public CreditApi() {
+        super("/api/v1/credit");
+    }
+
+    @Override
+    protected String getDbStatus(OrderTracker order) {
+        return order.getCreditStatus();
+    }
+
+    @Override
+    protected long getDbOrderCount(OrderTracker order) {
+        return order.getCreditOrderCount();
+    }
+}
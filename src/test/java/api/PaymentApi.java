@@ -0,0 +1,20 @@
+package api;
+
+import data.OrderTracker;
+
+public class PaymentApi extends CardApi {
+
+    public PaymentApi() {
+        super("/api/v1/pay");
+    }
+
+    @Override
+    protected String getDbStatus(OrderTracker order) {
+        return order.getPaymentStatus();
+    }
+
+    @Override
+    protected long getDbOrderCount(OrderTracker order) {
+        return order.getPaymentOrderCount();
+    }
+}
@@ -0,0 +1,198 @@
+package data;
+
+import com.google.gson.GsonBuilder;
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BulkSeeder {
+    private static final int PAYMENT_AMOUNT = 4_500_000;
+
+    private final int batchSize = Integer.getInteger("seed.batch", 1000);
+    private final int threads = Integer.getInteger("seed.threads", 4);
+    private final double creditShare = Double.parseDouble(System.getProperty("seed.creditShare", "0.3"));
+    private final double declinedShare = Double.parseDouble(System.getProperty("seed.declinedShare", "0.3"));
+    private final long spanMillis = TimeUnit.DAYS.toMillis(Integer.getInteger("seed.days", 365));
+    private final long seed = Long.getLong("seed.seed", 42L);
+    private final AtomicLong remaining = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    @Value
+    public static class SeedResult {
+        long orders;
+        long rows;
+        double seconds;
+        double rowsPerSecond;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long orders = Long.getLong("seed.orders", 1_000_000L);
+        double target = Double.parseDouble(System.getProperty("seed.target", "50000"));
+        if (Boolean.getBoolean("seed.clean")) {
+            SQLHelper.cleanDatabase();
+        }
+        SeedResult result = seed(orders);
+        System.out.printf("Засеяно %d заказов (%d строк) за %.1f с: %.0f строк/с, цель %.0f строк/с — %s%n",
+                result.getOrders(), result.getRows(), result.getSeconds(), result.getRowsPerSecond(), target,
+                result.getRowsPerSecond() >= target ? "достигнута" : "НЕ достигнута");
+        Path reportFile = Paths.get(System.getProperty("seed.report", "build/reports/seed/seed-report.json"));
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, new GsonBuilder().setPrettyPrinting().create().toJson(result));
+        ConnectionPool.close();
+    }
+
+    public static SeedResult seed(long orders) throws Exception {
+        return new BulkSeeder().run(orders);
+    }
+
+    private SeedResult run(long orders) throws Exception {
+        remaining.set(orders);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long workerSeed = seed + i;
+            workers.add(executor.submit(() -> {
+                work(new Random(workerSeed));
+                return null;
+            }));
+        }
+        executor.shutdown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new SeedResult(orders, rows.get(), seconds, rows.get() / seconds);
+    }
+
+    private void work(Random random) throws SQLException {
+        try (Connection connection = ConnectionPool.lease()) {
+            connection.setAutoCommit(false);
+            try (Statement session = connection.createStatement()) {
+                // ключи случайные UUID, проверка уникальности вторичных индексов только тормозит вставку
+                session.execute("SET unique_checks = 0");
+            }
+            try {
+                long claimed;
+                while ((claimed = claim()) > 0) {
+                    int size = (int) claimed;
+                    if (random.nextDouble() < creditShare) {
+                        insertCredits(connection, random, size);
+                    } else {
+                        insertPayments(connection, random, size);
+                    }
+                    connection.commit();
+                    rows.addAndGet(2L * size);
+                }
+            } finally {
+                connection.setAutoCommit(true);
+                try (Statement session = connection.createStatement()) {
+                    session.execute("SET unique_checks = 1");
+                }
+            }
+        }
+    }
+
+    private long claim() {
+        while (true) {
+            long left = remaining.get();
+            if (left <= 0) {
+                return 0;
+            }
+            long size = Math.min(left, batchSize);
+            if (remaining.compareAndSet(left, left - size)) {
+                return size;
+            }
+        }
+    }
+
+    private void insertPayments(Connection connection, Random random, int size) throws SQLException {
+        try (PreparedStatement payments = connection.prepareStatement(multiRowInsert(
+                "INSERT INTO payment_entity (id, amount, created, status, transaction_id) VALUES ", 5, size));
+             PreparedStatement orders = connection.prepareStatement(multiRowInsert(
+                     "INSERT INTO order_entity (id, created, credit_id, payment_id) VALUES ", 4, size))) {
+            int p = 1;
+            int o = 1;
+            for (int i = 0; i < size; i++) {
+                Timestamp created = created(random);
+                String transactionId = uuid(random);
+                payments.setString(p++, uuid(random));
+                payments.setInt(p++, PAYMENT_AMOUNT);
+                payments.setTimestamp(p++, created);
+                payments.setString(p++, status(random));
+                payments.setString(p++, transactionId);
+                orders.setString(o++, uuid(random));
+                orders.setTimestamp(o++, created);
+                orders.setString(o++, null);
+                orders.setString(o++, transactionId);
+            }
+            payments.executeUpdate();
+            orders.executeUpdate();
+        }
+    }
+
+    private void insertCredits(Connection connection, Random random, int size) throws SQLException {
+        try (PreparedStatement credits = connection.prepareStatement(multiRowInsert(
+                "INSERT INTO credit_request_entity (id, bank_id, created, status) VALUES ", 4, size));
+             PreparedStatement orders = connection.prepareStatement(multiRowInsert(
+                     "INSERT INTO order_entity (id, created, credit_id, payment_id) VALUES ", 4, size))) {
+            int c = 1;
+            int o = 1;
+            for (int i = 0; i < size; i++) {
+                Timestamp created = created(random);
+                String bankId = uuid(random);
+                credits.setString(c++, uuid(random));
+                credits.setString(c++, bankId);
+                credits.setTimestamp(c++, created);
+                credits.setString(c++, status(random));
+                orders.setString(o++, uuid(random));
+                orders.setTimestamp(o++, created);
+                orders.setString(o++, bankId);
+                orders.setString(o++, null);
+            }
+            credits.executeUpdate();
+            orders.executeUpdate();
+        }
+    }
+
+    private String status(Random random) {
+        return random.nextDouble() < declinedShare ? "DECLINED" : "APPROVED";
+    }
+
+    private Timestamp created(Random random) {
+        return new Timestamp(System.currentTimeMillis() - (long) (random.nextDouble() * spanMillis));
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static String multiRowInsert(String prefix, int columns, int rows) {
+        StringBuilder row = new StringBuilder("(");
+        for (int i = 0; i < columns; i++) {
+            row.append(i == 0 ? "?" : ", ?");
+        }
+        row.append(')');
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * (row.length() + 2)).append(prefix);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(row);
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package data;
+
+import com.github.javafaker.Faker;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CardDataPool {
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("MM");
+    private static final DateTimeFormatter YEAR = DateTimeFormatter.ofPattern("yy");
+
+    public enum Kind {
+        VALID, DECLINED, INVALID
+    }
+
+    private final Map<Kind, DataHelper.CardInfo[]> cards = new EnumMap<>(Kind.class);
+    private final AtomicInteger threads = new AtomicInteger();
+    private final ThreadLocal<int[]> cursors;
+
+    private CardDataPool(int sizePerKind) {
+        // у каждого потока свои курсоры со своим смещением — общего счётчика на горячем пути нет
+        cursors = ThreadLocal.withInitial(() -> {
+            int[] cursor = new int[Kind.values().length];
+            int offset = (int) ((threads.getAndIncrement() * 0x9E3779B9L) & Integer.MAX_VALUE);
+            for (int i = 0; i < cursor.length; i++) {
+                cursor[i] = offset % sizePerKind;
+            }
+            return cursor;
+        });
+    }
+
+    public static CardDataPool generate(long seed, int sizePerKind) {
+        String baseMonth = System.getProperty("data.pool.month");
+        return generate(seed, sizePerKind, baseMonth == null ? YearMonth.now() : YearMonth.parse(baseMonth));
+    }
+
+    public static CardDataPool generate(long seed, int sizePerKind, YearMonth baseMonth) {
+        Random random = new Random(seed);
+        Faker faker = new Faker(new Locale("en"), random);
+        CardDataPool pool = new CardDataPool(sizePerKind);
+        DataHelper.CardInfo[] valid = new DataHelper.CardInfo[sizePerKind];
+        DataHelper.CardInfo[] declined = new DataHelper.CardInfo[sizePerKind];
+        DataHelper.CardInfo[] invalid = new DataHelper.CardInfo[sizePerKind];
+        for (int i = 0; i < sizePerKind; i++) {
+            valid[i] = card(DataHelper.getApprovedCardNumber(), baseMonth, random, faker);
+            declined[i] = card(DataHelper.getDeclinedCardNumber(), baseMonth, random, faker);
+            invalid[i] = invalidCard(baseMonth, random, faker);
+        }
+        pool.cards.put(Kind.VALID, valid);
+        pool.cards.put(Kind.DECLINED, declined);
+        pool.cards.put(Kind.INVALID, invalid);
+        return pool;
+    }
+
+    public DataHelper.CardInfo next(Kind kind) {
+        DataHelper.CardInfo[] source = cards.get(kind);
+        int[] cursor = cursors.get();
+        int index = cursor[kind.ordinal()];
+        cursor[kind.ordinal()] = index + 1 == source.length ? 0 : index + 1;
+        return source[index];
+    }
+
+    public DataHelper.CardInfo get(Kind kind, int index) {
+        return cards.get(kind)[index];
+    }
+
+    public int size() {
+        return cards.get(Kind.VALID).length;
+    }
+
+    private static DataHelper.CardInfo card(String number, YearMonth baseMonth, Random random, Faker faker) {
+        YearMonth expiry = baseMonth.plusMonths(1 + random.nextInt(48));
+        return new DataHelper.CardInfo(number, expiry.format(MONTH), expiry.format(YEAR),
+                faker.name().fullName().toUpperCase(), cvc(random, 3));
+    }
+
+    private static DataHelper.CardInfo invalidCard(YearMonth baseMonth, Random random, Faker faker) {
+        DataHelper.CardInfo card = card(DataHelper.getApprovedCardNumber(), baseMonth, random, faker);
+        String number = card.getNumber();
+        String month = card.getMonth();
+        String year = card.getYear();
+        String holder = card.getHolder();
+        String cvc = card.getCvc();
+        switch (random.nextInt(8)) {
+            case 0:
+                number = DataHelper.getShortCardNumber();
+                break;
+            case 1:
+                month = DataHelper.getInvalidMonth();
+                break;
+            case 2:
+                month = "00";
+                break;
+            case 3:
+                year = baseMonth.minusYears(1).format(YEAR);
+                break;
+            case 4:
+                holder = DataHelper.getInvalidHolder();
+                break;
+            case 5:
+                cvc = cvc(random, 2);
+                break;
+            case 6:
+                holder = "";
+                break;
+            default:
+                number = "";
+                break;
+        }
+        return new DataHelper.CardInfo(number, month, year, holder, cvc);
+    }
+
+    private static String cvc(Random random, int digits) {
+        int bound = digits == 3 ? 1000 : 100;
+        return String.format("%0" + digits + "d", random.nextInt(bound));
+    }
+}
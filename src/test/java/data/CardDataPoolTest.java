@@ -0,0 +1,48 @@
+package data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CardDataPoolTest {
+    private static final YearMonth BASE_MONTH = YearMonth.of(2026, 1);
+
+    @Test
+    @DisplayName("Одно и то же зерно даёт те же карты")
+    void shouldGenerateSameCardsForSameSeed() {
+        CardDataPool first = CardDataPool.generate(7, 50, BASE_MONTH);
+        CardDataPool second = CardDataPool.generate(7, 50, BASE_MONTH);
+
+        for (CardDataPool.Kind kind : CardDataPool.Kind.values()) {
+            for (int i = 0; i < first.size(); i++) {
+                assertEquals(first.get(kind, i), second.get(kind, i), kind + " #" + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Разные зёрна дают разные карты")
+    void shouldGenerateDifferentCardsForDifferentSeeds() {
+        CardDataPool first = CardDataPool.generate(7, 50, BASE_MONTH);
+        CardDataPool second = CardDataPool.generate(8, 50, BASE_MONTH);
+
+        assertNotEquals(first.get(CardDataPool.Kind.VALID, 0), second.get(CardDataPool.Kind.VALID, 0));
+    }
+
+    @Test
+    @DisplayName("Курсор потока проходит весь пул и начинает сначала")
+    void shouldWrapAroundPool() {
+        CardDataPool pool = CardDataPool.generate(7, 3, BASE_MONTH);
+
+        DataHelper.CardInfo first = pool.next(CardDataPool.Kind.DECLINED);
+        pool.next(CardDataPool.Kind.DECLINED);
+        pool.next(CardDataPool.Kind.DECLINED);
+
+        assertEquals(first, pool.next(CardDataPool.Kind.DECLINED));
+        assertEquals(DataHelper.getDeclinedCardNumber(), first.getNumber());
+    }
+}
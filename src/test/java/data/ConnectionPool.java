@@ -0,0 +1,102 @@
+package data;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.Value;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool {
+    private static final LongAdder leases = new LongAdder();
+    private static final LongAdder waitNanos = new LongAdder();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+    private static volatile HikariDataSource dataSource;
+
+    private ConnectionPool() {
+    }
+
+    @Value
+    public static class PoolMetrics {
+        int active;
+        int idle;
+        int total;
+        int awaiting;
+        long leases;
+        double avgWaitMillis;
+        double maxWaitMillis;
+    }
+
+    public static Connection lease() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = getDataSource().getConnection();
+        long waited = System.nanoTime() - start;
+        leases.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return connection;
+    }
+
+    public static PoolMetrics getMetrics() {
+        HikariDataSource current = dataSource;
+        long leaseCount = leases.sum();
+        double avgWait = leaseCount == 0 ? 0 : waitNanos.sum() / (double) leaseCount / 1_000_000;
+        double maxWait = maxWaitNanos.get() / 1_000_000.0;
+        if (current == null) {
+            return new PoolMetrics(0, 0, 0, 0, leaseCount, avgWait, maxWait);
+        }
+        HikariPoolMXBean pool = current.getHikariPoolMXBean();
+        return new PoolMetrics(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                leaseCount,
+                avgWait,
+                maxWait);
+    }
+
+    public static boolean isOpen() {
+        return dataSource != null;
+    }
+
+    public static synchronized void close() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    private static HikariDataSource getDataSource() {
+        HikariDataSource current = dataSource;
+        if (current == null) {
+            synchronized (ConnectionPool.class) {
+                current = dataSource;
+                if (current == null) {
+                    current = createDataSource();
+                    dataSource = current;
+                    Runtime.getRuntime().addShutdownHook(new Thread(ConnectionPool::close));
+                }
+            }
+        }
+        return current;
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("sql-helper");
+        config.setJdbcUrl(System.getProperty("db.url"));
+        config.setUsername(System.getProperty("db.user"));
+        config.setPassword(System.getProperty("db.password"));
+        config.setMaximumPoolSize(Integer.getInteger("db.pool.size", 4));
+        config.setMinimumIdle(1);
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "64");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        return new HikariDataSource(config);
+    }
+}
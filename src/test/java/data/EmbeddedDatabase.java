@@ -0,0 +1,53 @@
+package data;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+public class EmbeddedDatabase {
+    private final DB db;
+
+    private EmbeddedDatabase(DB db) {
+        this.db = db;
+    }
+
+    public static int getPort() {
+        return Integer.getInteger("db.embedded.port", 3307);
+    }
+
+    public static EmbeddedDatabase start(int port) throws ManagedProcessException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(port);
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        String user = System.getProperty("db.user", "app");
+        String password = System.getProperty("db.password", "pass");
+        db.run("CREATE DATABASE IF NOT EXISTS app;" +
+                "CREATE USER IF NOT EXISTS '" + user + "'@'%' IDENTIFIED BY '" + password + "';" +
+                "CREATE USER IF NOT EXISTS '" + user + "'@'localhost' IDENTIFIED BY '" + password + "';" +
+                "GRANT ALL ON *.* TO '" + user + "'@'%';" +
+                "GRANT ALL ON *.* TO '" + user + "'@'localhost';");
+        db.source("db/schema.sql", user, password, "app");
+        if (Boolean.getBoolean("db.lookupIndexes")) {
+            db.source("db/lookup-indexes.sql", user, password, "app");
+        }
+        return new EmbeddedDatabase(db);
+    }
+
+    public void stop() throws ManagedProcessException {
+        db.stop();
+    }
+
+    public static void main(String[] args) throws Exception {
+        EmbeddedDatabase database = start(getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                database.stop();
+            } catch (ManagedProcessException e) {
+                e.printStackTrace();
+            }
+        }));
+        System.out.println("Встроенная БД запущена: jdbc:mysql://localhost:" + getPort() + "/app");
+        Thread.currentThread().join();
+    }
+}
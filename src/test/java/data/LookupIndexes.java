@@ -0,0 +1,69 @@
+package data;
+
+import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.handlers.ScalarHandler;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LookupIndexes {
+    private static final String MIGRATION = "db/lookup-indexes.sql";
+    private static final Pattern CREATE_INDEX = Pattern.compile("CREATE INDEX (\\w+) ON (\\w+)");
+    private static final QueryRunner runner = new QueryRunner();
+
+    private LookupIndexes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (Connection connection = ConnectionPool.lease()) {
+            apply(connection);
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+
+    public static void apply(Connection connection) throws Exception {
+        // MySQL 8 не знает CREATE INDEX IF NOT EXISTS, поэтому существующие индексы пропускаем сами
+        for (String statement : statements()) {
+            Matcher matcher = CREATE_INDEX.matcher(statement);
+            if (!matcher.find()) {
+                throw new IllegalStateException("Неожиданная инструкция в " + MIGRATION + ": " + statement);
+            }
+            if (exists(connection, matcher.group(2), matcher.group(1))) {
+                System.out.println("Индекс уже есть: " + matcher.group(1));
+                continue;
+            }
+            runner.execute(connection, statement);
+            System.out.println("Создан индекс: " + matcher.group(1));
+        }
+    }
+
+    private static boolean exists(Connection connection, String table, String index) throws SQLException {
+        Long count = runner.query(connection, "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                new ScalarHandler<>(), table, index);
+        return count != null && count > 0;
+    }
+
+    private static List<String> statements() throws Exception {
+        try (InputStream in = LookupIndexes.class.getClassLoader().getResourceAsStream(MIGRATION)) {
+            if (in == null) {
+                throw new IllegalStateException("Не найден " + MIGRATION);
+            }
+            List<String> statements = new ArrayList<>();
+            for (String line : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("--")) {
+                    statements.add(trimmed.replaceAll(";$", ""));
+                }
+            }
+            return statements;
+        }
+    }
+}
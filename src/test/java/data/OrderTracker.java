@@ -0,0 +1,70 @@
+package data;
+
+import com.codeborne.selenide.logevents.SelenideLogger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+public class OrderTracker {
+    // окна заказов одного потока не должны пересекаться с окнами другого: тесты одного потока берут эту блокировку
+    public static final String PAYMENT_LOCK = "db.orders.payment";
+    public static final String CREDIT_LOCK = "db.orders.credit";
+
+    private final Timestamp since;
+    private Timestamp until;
+    private SQLHelper.OrderRecord order;
+
+    private OrderTracker(Timestamp since) {
+        this.since = since;
+    }
+
+    public static OrderTracker start() {
+        return new OrderTracker(now());
+    }
+
+    public String getPaymentStatus() {
+        return SelenideLogger.get("SQLHelper", "getPaymentStatus",
+                () -> find(SQLHelper::findPaymentOrdersBetween));
+    }
+
+    public String getCreditStatus() {
+        return SelenideLogger.get("SQLHelper", "getCreditStatus",
+                () -> find(SQLHelper::findCreditOrdersBetween));
+    }
+
+    public long getPaymentOrderCount() {
+        return SelenideLogger.get("SQLHelper", "getPaymentOrderCount",
+                () -> SQLHelper.countPaymentOrdersBetween(since, finish()));
+    }
+
+    public long getCreditOrderCount() {
+        return SelenideLogger.get("SQLHelper", "getCreditOrderCount",
+                () -> SQLHelper.countCreditOrdersBetween(since, finish()));
+    }
+
+    private String find(BiFunction<Timestamp, Timestamp, List<SQLHelper.OrderRecord>> query) {
+        if (order == null) {
+            List<SQLHelper.OrderRecord> candidates = query.apply(since, finish());
+            if (candidates.size() > 1) {
+                throw new AssertionError(String.format(
+                        "Неоднозначный заказ: в окне %s — %s найдено %d заказов %s", since, until, candidates.size(), candidates));
+            }
+            order = candidates.isEmpty() ? null : candidates.get(0);
+        }
+        return order == null ? null : order.getStatus();
+    }
+
+    private Timestamp finish() {
+        // первая проверка идёт сразу после уведомления или ответа API, ею окно и закрывается
+        if (until == null) {
+            until = now();
+        }
+        return until;
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
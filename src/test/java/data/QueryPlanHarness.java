@@ -0,0 +1,307 @@
+package data;
+
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class QueryPlanHarness {
+    private static final int IN_LIST_SIZE = 100;
+    private static final String SUT_SCHEMA = "app";
+    private static final String[] COLORS = {"#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b",
+            "#e377c2", "#7f7f7f", "#bcbd22", "#17becf", "#393b79", "#637939", "#8c6d31", "#843c39"};
+
+    private final List<Long> levels = Arrays.stream(System.getProperty("plans.levels", "10000,100000,1000000").split(","))
+            .map(String::trim).map(Long::valueOf).collect(Collectors.toList());
+    private final int repeats = Integer.getInteger("plans.repeats", 30);
+    private final long minRows = Long.getLong("plans.minRows", 10_000L);
+    private final Path reportDir = Paths.get(System.getProperty("plans.report", "build/reports/query-plans"));
+
+    private final List<Probe> probes = List.of(
+            new Probe("SQLHelper.getPaymentStatus()", SQLHelper.LATEST_PAYMENT_STATUS, false, s -> new Object[0]),
+            new Probe("SQLHelper.getCreditStatus()", SQLHelper.LATEST_CREDIT_STATUS, false, s -> new Object[0]),
+            new Probe("SQLHelper.getPaymentStatus(transactionId)", SQLHelper.PAYMENT_STATUS_BY_TRANSACTION, false,
+                    s -> new Object[]{s.getTransactionIds().get(0)}),
+            new Probe("SQLHelper.getCreditStatus(bankId)", SQLHelper.CREDIT_STATUS_BY_BANK_ID, false,
+                    s -> new Object[]{s.getBankIds().get(0)}),
+            new Probe("SQLHelper.findPaymentOrdersBetween", SQLHelper.PAYMENT_ORDERS_BETWEEN, false,
+                    s -> new Object[]{s.getSince(), s.getUntil()}),
+            new Probe("SQLHelper.findCreditOrdersBetween", SQLHelper.CREDIT_ORDERS_BETWEEN, false,
+                    s -> new Object[]{s.getSince(), s.getUntil()}),
+            new Probe("SQLHelper.countPaymentOrdersBetween", SQLHelper.PAYMENT_ORDER_COUNT_BETWEEN, false,
+                    s -> new Object[]{s.getSince(), s.getUntil()}),
+            new Probe("SQLHelper.countCreditOrdersBetween", SQLHelper.CREDIT_ORDER_COUNT_BETWEEN, false,
+                    s -> new Object[]{s.getSince(), s.getUntil()}),
+            // COUNT(*) обходит индекс целиком по определению, его только измеряем
+            new Probe("SQLHelper.countRows(order_entity)", SQLHelper.countRowsQuery("order_entity"), true,
+                    s -> new Object[0]),
+            // сверка статусов намеренно просматривает каждую таблицу один раз за весь прогон, а не на каждую пачку
+            new Probe("StatusVerifier payment statuses", StatusVerifier.statusQuery(StatusVerifier.Flow.PAYMENT),
+                    true, s -> new Object[0]),
+            new Probe("StatusVerifier payment orders", StatusVerifier.orderCountQuery(StatusVerifier.Flow.PAYMENT),
+                    true, s -> new Object[0]),
+            new Probe("StatusVerifier credit statuses", StatusVerifier.statusQuery(StatusVerifier.Flow.CREDIT),
+                    true, s -> new Object[0]),
+            new Probe("StatusVerifier credit orders", StatusVerifier.orderCountQuery(StatusVerifier.Flow.CREDIT),
+                    true, s -> new Object[0]),
+            new Probe("StatusVerifier payment ids between", StatusVerifier.idsBetweenQuery(StatusVerifier.Flow.PAYMENT),
+                    true, s -> new Object[]{s.getSince(), s.getUntil(), s.getSince(), s.getUntil()}),
+            new Probe("StatusVerifier credit ids between", StatusVerifier.idsBetweenQuery(StatusVerifier.Flow.CREDIT),
+                    true, s -> new Object[]{s.getSince(), s.getUntil(), s.getSince(), s.getUntil()}),
+            // пути доступа SUT: Spring Data читает сущности по первичному ключу
+            new Probe("SUT payment_entity by id", "SELECT * FROM payment_entity WHERE id = ?", false,
+                    s -> new Object[]{s.getPaymentId()}),
+            new Probe("SUT credit_request_entity by id", "SELECT * FROM credit_request_entity WHERE id = ?", false,
+                    s -> new Object[]{s.getCreditId()}),
+            new Probe("SUT order_entity by id", "SELECT * FROM order_entity WHERE id = ?", false,
+                    s -> new Object[]{s.getOrderId()}));
+
+    @Value
+    private static class Probe {
+        String name;
+        String sql;
+        boolean scanAllowed;
+        Function<Sample, Object[]> params;
+    }
+
+    @Value
+    private static class Sample {
+        List<String> transactionIds;
+        List<String> bankIds;
+        String paymentId;
+        String creditId;
+        String orderId;
+        Timestamp since;
+        Timestamp until;
+    }
+
+    @Value
+    private static class Measurement {
+        long rows;
+        String probe;
+        String access;
+        String key;
+        double medianMillis;
+        double p95Millis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        try {
+            new QueryPlanHarness().run();
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+
+    private void run() throws Exception {
+        Files.createDirectories(reportDir);
+        List<Measurement> measurements = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        StringBuilder plans = new StringBuilder();
+        try (Connection connection = ConnectionPool.lease()) {
+            // харнесс пишет миллионы строк, а с plans.clean ещё и очищает таблицы — схеме SUT и тестов это не место
+            if (SUT_SCHEMA.equals(connection.getCatalog()) && !Boolean.getBoolean("plans.allowSutSchema")) {
+                throw new IllegalStateException("db.url указывает на рабочую схему SUT '" + SUT_SCHEMA +
+                        "'. Запустите проверку на копии схемы SUT (см. README) или задайте -Dplans.allowSutSchema=true");
+            }
+        }
+        if (Boolean.getBoolean("plans.clean")) {
+            SQLHelper.cleanDatabase();
+        }
+        long seeded = SQLHelper.countRows().get("order_entity");
+        for (long level : levels) {
+            if (level > seeded) {
+                BulkSeeder.seed(level - seeded);
+                seeded = level;
+            }
+            try (Connection connection = ConnectionPool.lease()) {
+                analyzeTables(connection);
+                long rows = SQLHelper.countRows().get("order_entity");
+                Sample sample = sample(connection);
+                List<String> verifiedIds = new ArrayList<>(sample.getTransactionIds());
+                verifiedIds.addAll(sample.getBankIds());
+                StatusVerifier.loadIds(connection, verifiedIds);
+                boolean mariaDb = connection.getMetaData().getDatabaseProductVersion().contains("MariaDB");
+                for (Probe probe : probes) {
+                    Object[] params = probe.getParams().apply(sample);
+                    List<String[]> explain = explain(connection, probe.getSql(), params);
+                    String access = explain.stream().map(row -> row[0] + ":" + row[1]).collect(Collectors.joining(" "));
+                    String key = explain.stream().map(row -> row[2]).collect(Collectors.joining(" "));
+                    for (String[] row : explain) {
+                        if ("ALL".equals(row[1]) && !probe.isScanAllowed() && rows >= minRows) {
+                            failures.add(String.format("%d строк: %s — полный просмотр таблицы %s (%s)",
+                                    rows, probe.getName(), row[0], row[3]));
+                        }
+                    }
+                    double[] timings = time(connection, probe.getSql(), params);
+                    measurements.add(new Measurement(rows, probe.getName(), access, key, timings[0], timings[1]));
+                    plans.append("== ").append(rows).append(" строк: ").append(probe.getName()).append('\n')
+                            .append(probe.getSql()).append('\n')
+                            .append(analyze(connection, probe.getSql(), params, mariaDb)).append("\n\n");
+                    System.out.printf("%10d %-45s %-40s %8.3f мс%n", rows, probe.getName(), access, timings[0]);
+                }
+                StatusVerifier.dropIds(connection);
+            }
+        }
+        Files.writeString(reportDir.resolve("plans.txt"), plans.toString());
+        Files.writeString(reportDir.resolve("latency.csv"), csv(measurements));
+        Files.writeString(reportDir.resolve("latency.svg"), chart(measurements));
+        System.out.println("Отчёт: " + reportDir.toAbsolutePath());
+        if (!failures.isEmpty()) {
+            failures.forEach(System.out::println);
+            throw new IllegalStateException("Планы запросов с полным просмотром таблиц: " + failures.size());
+        }
+        System.out.println("Полных просмотров таблиц не обнаружено");
+    }
+
+    private static void analyzeTables(Connection connection) throws SQLException {
+        // после массовой вставки статистика устаревает, и оптимизатор выбирает план по пустым таблицам
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + String.join(", ", SQLHelper.TABLES));
+        }
+    }
+
+    private static Sample sample(Connection connection) throws SQLException {
+        return new Sample(
+                column(connection, "SELECT transaction_id FROM payment_entity LIMIT " + IN_LIST_SIZE),
+                column(connection, "SELECT bank_id FROM credit_request_entity LIMIT " + IN_LIST_SIZE),
+                column(connection, "SELECT id FROM payment_entity LIMIT 1").get(0),
+                column(connection, "SELECT id FROM credit_request_entity LIMIT 1").get(0),
+                column(connection, "SELECT id FROM order_entity LIMIT 1").get(0),
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static List<String> column(Connection connection, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalStateException("Нет данных для запроса: " + sql);
+        }
+        while (values.size() < IN_LIST_SIZE) {
+            values.add(values.get(values.size() - 1));
+        }
+        return values;
+    }
+
+    private static List<String[]> explain(Connection connection, String sql, Object[] params) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (PreparedStatement statement = prepare(connection, "EXPLAIN " + sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new String[]{rs.getString("table"), rs.getString("type"), rs.getString("key"), rs.getString("Extra")});
+            }
+        }
+        return rows;
+    }
+
+    private static String analyze(Connection connection, String sql, Object[] params, boolean mariaDb) throws SQLException {
+        // EXPLAIN ANALYZE есть в MySQL 8.0.18+, у MariaDB тот же отчёт даёт ANALYZE FORMAT=JSON
+        String prefix = mariaDb ? "ANALYZE FORMAT=JSON " : "EXPLAIN ANALYZE ";
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = prepare(connection, prefix + sql, params);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private double[] time(Connection connection, String sql, Object[] params) throws SQLException {
+        double[] millis = new double[repeats];
+        try (PreparedStatement statement = prepare(connection, sql, params)) {
+            for (int i = -3; i < repeats; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        // результат нужно дочитать, иначе меряется только отправка запроса
+                    }
+                }
+                if (i >= 0) {
+                    millis[i] = (System.nanoTime() - start) / 1e6;
+                }
+            }
+        }
+        Arrays.sort(millis);
+        return new double[]{millis[repeats / 2], millis[Math.min(repeats - 1, (int) Math.ceil(repeats * 0.95) - 1)]};
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, Object[] params) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+        return statement;
+    }
+
+    private static String csv(List<Measurement> measurements) {
+        StringBuilder csv = new StringBuilder("rows,query,access,key,median_ms,p95_ms\n");
+        for (Measurement m : measurements) {
+            csv.append(m.getRows()).append(",\"").append(m.getProbe()).append("\",\"").append(m.getAccess())
+                    .append("\",\"").append(m.getKey()).append("\",")
+                    .append(String.format(Locale.ROOT, "%.3f,%.3f", m.getMedianMillis(), m.getP95Millis())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String chart(List<Measurement> measurements) {
+        int width = 900;
+        int height = 500;
+        int left = 60;
+        int bottom = 40;
+        int plotWidth = width - left - 320;
+        int plotHeight = height - bottom - 20;
+        double minX = measurements.stream().mapToDouble(m -> Math.log10(Math.max(1, m.getRows()))).min().orElse(0);
+        double maxX = measurements.stream().mapToDouble(m -> Math.log10(Math.max(1, m.getRows()))).max().orElse(1);
+        double maxY = measurements.stream().mapToDouble(Measurement::getMedianMillis).max().orElse(1);
+        double spanX = Math.max(maxX - minX, 1e-9);
+        Map<String, List<Measurement>> byProbe = measurements.stream()
+                .collect(Collectors.groupingBy(Measurement::getProbe, LinkedHashMap::new, Collectors.toList()));
+        StringBuilder svg = new StringBuilder(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" font-size=\"11\">%n",
+                width, height));
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%d\" x2=\"%d\" y2=\"%d\" stroke=\"black\"/>%n",
+                left, height - bottom, left + plotWidth, height - bottom));
+        svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"20\" x2=\"%d\" y2=\"%d\" stroke=\"black\"/>%n",
+                left, left, height - bottom));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">строк в order_entity (лог. шкала)</text>%n",
+                left + plotWidth / 2 - 80, height - 8));
+        svg.append(String.format(Locale.ROOT, "<text x=\"4\" y=\"14\">медиана, мс (макс. %.2f)</text>%n", maxY));
+        int index = 0;
+        for (Map.Entry<String, List<Measurement>> probe : byProbe.entrySet()) {
+            String color = COLORS[index % COLORS.length];
+            String points = probe.getValue().stream()
+                    .map(m -> String.format(Locale.ROOT, "%.1f,%.1f",
+                            left + (Math.log10(Math.max(1, m.getRows())) - minX) / spanX * plotWidth,
+                            height - bottom - m.getMedianMillis() / maxY * plotHeight))
+                    .collect(Collectors.joining(" "));
+            svg.append(String.format(Locale.ROOT,
+                    "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"2\"/>%n", points, color));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n",
+                    left + plotWidth + 20, 30 + index * 16, color, probe.getKey()));
+            index++;
+        }
+        return svg.append("</svg>\n").toString();
+    }
+}
@@ -1,45 +1,166 @@
 package data;
 
 import lombok.SneakyThrows;
+import lombok.Value;
 import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.ResultSetHandler;
 import org.apache.commons.dbutils.handlers.ScalarHandler;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class SQLHelper {
     private static final QueryRunner runner = new QueryRunner();
+    static final List<String> TABLES = List.of("order_entity", "payment_entity", "credit_request_entity");
+
+    // запросы открыты пакету, чтобы QueryPlanHarness проверял их планы без копирования текста
+    static final String LATEST_PAYMENT_STATUS = "SELECT status FROM payment_entity ORDER BY created DESC LIMIT 1";
+    static final String LATEST_CREDIT_STATUS = "SELECT status FROM credit_request_entity ORDER BY created DESC LIMIT 1";
+    static final String PAYMENT_STATUS_BY_TRANSACTION = "SELECT status FROM payment_entity WHERE transaction_id = ?";
+    static final String CREDIT_STATUS_BY_BANK_ID = "SELECT status FROM credit_request_entity WHERE bank_id = ?";
+    static final String PAYMENT_ORDERS_BETWEEN = "SELECT o.id, o.payment_id, p.status FROM order_entity o " +
+            "JOIN payment_entity p ON p.transaction_id = o.payment_id " +
+            "WHERE o.created BETWEEN ? AND ? ORDER BY o.created LIMIT 50";
+    static final String CREDIT_ORDERS_BETWEEN = "SELECT o.id, o.credit_id, c.status FROM order_entity o " +
+            "JOIN credit_request_entity c ON c.bank_id = o.credit_id " +
+            "WHERE o.created BETWEEN ? AND ? ORDER BY o.created LIMIT 50";
+    // отклонённый запрос одного потока не должен спотыкаться о заказы другого, идущего параллельно
+    static final String PAYMENT_ORDER_COUNT_BETWEEN = "SELECT COUNT(*) FROM order_entity " +
+            "WHERE created BETWEEN ? AND ? AND payment_id IS NOT NULL";
+    static final String CREDIT_ORDER_COUNT_BETWEEN = "SELECT COUNT(*) FROM order_entity " +
+            "WHERE created BETWEEN ? AND ? AND credit_id IS NOT NULL";
+
+    private static final ResultSetHandler<List<OrderRecord>> orderRecords = rs -> {
+        List<OrderRecord> records = new ArrayList<>();
+        while (rs.next()) {
+            records.add(new OrderRecord(rs.getString(1), rs.getString(2), rs.getString(3)));
+        }
+        return records;
+    };
 
     private SQLHelper() {
     }
 
+    @Value
+    public static class OrderRecord {
+        String orderId;
+        String transactionId;
+        String status;
+    }
+
     private static Connection getConn() throws SQLException {
-        String url = System.getProperty("db.url");
-        String user = System.getProperty("db.user");
-        String password = System.getProperty("db.password");
-        return DriverManager.getConnection(url, user, password);
+        return ConnectionPool.lease();
     }
 
     @SneakyThrows
     public static void cleanDatabase() {
-        var connection = getConn();
-        runner.execute(connection, "DELETE FROM order_entity");
-        runner.execute(connection, "DELETE FROM payment_entity");
-        runner.execute(connection, "DELETE FROM credit_request_entity");
+        // TRUNCATE пересоздаёт таблицу и не зависит от числа строк, в отличие от DELETE
+        try (var connection = getConn()) {
+            runner.execute(connection, "SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                for (String table : TABLES) {
+                    runner.execute(connection, "TRUNCATE TABLE " + table);
+                }
+            } finally {
+                runner.execute(connection, "SET FOREIGN_KEY_CHECKS = 1");
+            }
+        }
+    }
+
+    @SneakyThrows
+    public static void cloneSchema(String targetSchema) {
+        try (var connection = getConn()) {
+            String template = connection.getCatalog();
+            runner.execute(connection, "CREATE DATABASE IF NOT EXISTS `" + targetSchema + "`");
+            for (String table : TABLES) {
+                runner.execute(connection, "CREATE TABLE IF NOT EXISTS `" + targetSchema + "`." + table +
+                        " LIKE `" + template + "`." + table);
+            }
+        }
+    }
+
+    @SneakyThrows
+    public static boolean schemaExists(String schema) {
+        try (var connection = getConn()) {
+            Long count = runner.query(connection, "SELECT COUNT(*) FROM information_schema.schemata WHERE schema_name = ?",
+                    new ScalarHandler<>(), schema);
+            return count != null && count > 0;
+        }
+    }
+
+    @SneakyThrows
+    public static Map<String, Long> countRows() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        try (var conn = getConn()) {
+            for (String table : TABLES) {
+                counts.put(table, runner.query(conn, countRowsQuery(table), new ScalarHandler<Long>()));
+            }
+        }
+        return counts;
+    }
+
+    static String countRowsQuery(String table) {
+        return "SELECT COUNT(*) FROM " + table;
     }
 
     @SneakyThrows
     public static String getPaymentStatus() {
-        var codeSQL = "SELECT status FROM payment_entity ORDER BY created DESC LIMIT 1";
-        var conn = getConn();
-        return runner.query(conn, codeSQL, new ScalarHandler<>());
+        try (var conn = getConn()) {
+            return runner.query(conn, LATEST_PAYMENT_STATUS, new ScalarHandler<>());
+        }
     }
 
     @SneakyThrows
     public static String getCreditStatus() {
-        var codeSQL = "SELECT status FROM credit_request_entity ORDER BY created DESC LIMIT 1";
-        var conn = getConn();
-        return runner.query(conn, codeSQL, new ScalarHandler<>());
+        try (var conn = getConn()) {
+            return runner.query(conn, LATEST_CREDIT_STATUS, new ScalarHandler<>());
+        }
+    }
+
+    @SneakyThrows
+    public static String getPaymentStatus(String transactionId) {
+        try (var conn = getConn()) {
+            return runner.query(conn, PAYMENT_STATUS_BY_TRANSACTION, new ScalarHandler<>(), transactionId);
+        }
+    }
+
+    @SneakyThrows
+    public static String getCreditStatus(String bankId) {
+        try (var conn = getConn()) {
+            return runner.query(conn, CREDIT_STATUS_BY_BANK_ID, new ScalarHandler<>(), bankId);
+        }
+    }
+
+    @SneakyThrows
+    public static List<OrderRecord> findPaymentOrdersBetween(Timestamp since, Timestamp until) {
+        try (var conn = getConn()) {
+            return runner.query(conn, PAYMENT_ORDERS_BETWEEN, orderRecords, since, until);
+        }
+    }
+
+    @SneakyThrows
+    public static List<OrderRecord> findCreditOrdersBetween(Timestamp since, Timestamp until) {
+        try (var conn = getConn()) {
+            return runner.query(conn, CREDIT_ORDERS_BETWEEN, orderRecords, since, until);
+        }
+    }
+
+    @SneakyThrows
+    public static long countPaymentOrdersBetween(Timestamp since, Timestamp until) {
+        try (var conn = getConn()) {
+            return runner.query(conn, PAYMENT_ORDER_COUNT_BETWEEN, new ScalarHandler<Long>(), since, until);
+        }
+    }
+
+    @SneakyThrows
+    public static long countCreditOrdersBetween(Timestamp since, Timestamp until) {
+        try (var conn = getConn()) {
+            return runner.query(conn, CREDIT_ORDER_COUNT_BETWEEN, new ScalarHandler<Long>(), since, until);
+        }
     }
 }
@@ -0,0 +1,225 @@
+package data;
+
+import lombok.SneakyThrows;
+import lombok.Value;
+import org.apache.commons.dbutils.QueryRunner;
+import org.apache.commons.dbutils.ResultSetHandler;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class StatusVerifier {
+    private static final QueryRunner runner = new QueryRunner();
+    private static final int CHUNK_SIZE = Integer.getInteger("db.verify.chunk", 1000);
+    private static final String ID_TABLE = "verify_ids";
+    private static final int EXAMPLES = 10;
+
+    private StatusVerifier() {
+    }
+
+    public enum Flow {
+        PAYMENT("payment_entity", "transaction_id", "payment_id"),
+        CREDIT("credit_request_entity", "bank_id", "credit_id");
+
+        private final String table;
+        private final String idColumn;
+        private final String orderColumn;
+
+        Flow(String table, String idColumn, String orderColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.orderColumn = orderColumn;
+        }
+    }
+
+    @Value
+    public static class Report {
+        Flow flow;
+        int checked;
+        int matched;
+        Map<String, String> mismatches;
+        List<String> missing;
+        List<String> missingOrders;
+        List<String> duplicates;
+
+        public boolean isClean() {
+            return mismatches.isEmpty() && missing.isEmpty() && missingOrders.isEmpty() && duplicates.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: проверено %d, совпало %d, расхождений %d %s, нет строки %d %s, " +
+                            "нет заказа %d %s, дубликатов %d %s",
+                    flow, checked, matched,
+                    mismatches.size(), examples(new ArrayList<>(mismatches.entrySet())),
+                    missing.size(), examples(missing),
+                    missingOrders.size(), examples(missingOrders),
+                    duplicates.size(), examples(duplicates));
+        }
+
+        private static String examples(List<?> items) {
+            return items.isEmpty() ? "" : items.subList(0, Math.min(EXAMPLES, items.size())).toString();
+        }
+    }
+
+    // в схеме SUT нет индексов по transaction_id, bank_id, payment_id и credit_id, поэтому каждая пачка IN (...)
+    // была бы полным просмотром таблицы; вместо этого идентификаторы кладутся во временную таблицу с первичным
+    // ключом, и каждая таблица SUT просматривается один раз, сколько бы идентификаторов ни проверялось
+    static String statusQuery(Flow flow) {
+        return "SELECT e." + flow.idColumn + ", e.status FROM " + flow.table + " e" +
+                " JOIN " + ID_TABLE + " v ON v.id = e." + flow.idColumn;
+    }
+
+    static String orderCountQuery(Flow flow) {
+        return "SELECT o." + flow.orderColumn + ", COUNT(*) FROM order_entity o" +
+                " JOIN " + ID_TABLE + " v ON v.id = o." + flow.orderColumn +
+                " GROUP BY o." + flow.orderColumn;
+    }
+
+    static String idsBetweenQuery(Flow flow) {
+        return "SELECT " + flow.orderColumn + " FROM order_entity WHERE created BETWEEN ? AND ?" +
+                " AND " + flow.orderColumn + " IS NOT NULL" +
+                " UNION SELECT " + flow.idColumn + " FROM " + flow.table + " WHERE created BETWEEN ? AND ?";
+    }
+
+    static void loadIds(Connection conn, List<String> ids) throws SQLException {
+        dropIds(conn);
+        runner.execute(conn, "CREATE TEMPORARY TABLE " + ID_TABLE + " (id VARCHAR(255) PRIMARY KEY)");
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            runner.execute(conn, "INSERT IGNORE INTO " + ID_TABLE + " (id) VALUES " +
+                    String.join(",", Collections.nCopies(chunk.size(), "(?)")), chunk.toArray());
+        }
+    }
+
+    static void dropIds(Connection conn) throws SQLException {
+        // соединение вернётся в пул, временная таблица на нём оставаться не должна
+        runner.execute(conn, "DROP TEMPORARY TABLE IF EXISTS " + ID_TABLE);
+    }
+
+    @SneakyThrows
+    public static Report verify(Flow flow, Map<String, String> expectedById) {
+        List<String> ids = new ArrayList<>(expectedById.keySet());
+        Map<String, List<String>> statuses = new HashMap<>(ids.size() * 2);
+        Map<String, Integer> orders = new HashMap<>(ids.size() * 2);
+        try (var conn = ConnectionPool.lease()) {
+            lookup(conn, flow, ids, statuses, orders);
+        }
+        int matched = 0;
+        Map<String, String> mismatches = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> missingOrders = new ArrayList<>();
+        List<String> duplicates = new ArrayList<>();
+        for (Map.Entry<String, String> entry : expectedById.entrySet()) {
+            String id = entry.getKey();
+            List<String> actual = statuses.get(id);
+            int orderCount = orders.getOrDefault(id, 0);
+            if (actual == null) {
+                missing.add(id);
+                continue;
+            }
+            if (actual.size() > 1 || orderCount > 1) {
+                duplicates.add(id);
+            }
+            if (orderCount == 0) {
+                missingOrders.add(id);
+            }
+            if (actual.stream().allMatch(entry.getValue()::equals)) {
+                matched++;
+            } else {
+                mismatches.put(id, "ожидался " + entry.getValue() + ", найден " + actual);
+            }
+        }
+        return new Report(flow, ids.size(), matched, mismatches, missing, missingOrders, duplicates);
+    }
+
+    // API не возвращает id операции, поэтому при одновременных запросах идентификаторы берутся из всех строк потока,
+    // созданных в окне, а ожидание — число принятых запросов на каждый статус; запросы с неизвестным исходом
+    // (ошибка, таймаут) могли оставить строку с любым статусом
+    @SneakyThrows
+    public static Report verifyBetween(Flow flow, Timestamp since, Timestamp until,
+                                       Map<String, Long> expectedCounts, long unconfirmed) {
+        List<String> ids = new ArrayList<>();
+        Map<String, List<String>> statuses = new HashMap<>();
+        Map<String, Integer> orders = new HashMap<>();
+        try (var conn = ConnectionPool.lease()) {
+            runner.query(conn, idsBetweenQuery(flow), rs -> {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
+                return null;
+            }, since, until, since, until);
+            lookup(conn, flow, ids, statuses, orders);
+        }
+        Map<String, Long> found = new TreeMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> missingOrders = new ArrayList<>();
+        List<String> duplicates = new ArrayList<>();
+        for (String id : ids) {
+            List<String> actual = statuses.get(id);
+            int orderCount = orders.getOrDefault(id, 0);
+            if (actual == null) {
+                missing.add(id);
+                continue;
+            }
+            if (actual.size() > 1 || orderCount > 1) {
+                duplicates.add(id);
+            }
+            if (orderCount == 0) {
+                missingOrders.add(id);
+            }
+            found.merge(actual.get(0), 1L, Long::sum);
+        }
+        int matched = 0;
+        Map<String, String> mismatches = new LinkedHashMap<>();
+        Map<String, Long> allStatuses = new TreeMap<>(expectedCounts);
+        found.keySet().forEach(status -> allStatuses.putIfAbsent(status, 0L));
+        for (Map.Entry<String, Long> entry : allStatuses.entrySet()) {
+            long expected = entry.getValue();
+            long actual = found.getOrDefault(entry.getKey(), 0L);
+            matched += (int) Math.min(expected, actual);
+            if (actual < expected || actual > expected + unconfirmed) {
+                mismatches.put(entry.getKey(), String.format("ожидалось %d (и до %d без подтверждения), найдено %d",
+                        expected, unconfirmed, actual));
+            }
+        }
+        return new Report(flow, ids.size(), matched, mismatches, missing, missingOrders, duplicates);
+    }
+
+    private static void lookup(Connection conn, Flow flow, List<String> ids,
+                               Map<String, List<String>> statuses, Map<String, Integer> orders) throws SQLException {
+        loadIds(conn, ids);
+        try {
+            runner.query(conn, statusQuery(flow), collect(statuses));
+            runner.query(conn, orderCountQuery(flow), count(orders));
+        } finally {
+            dropIds(conn);
+        }
+    }
+
+    private static ResultSetHandler<Void> collect(Map<String, List<String>> statuses) {
+        return rs -> {
+            while (rs.next()) {
+                statuses.computeIfAbsent(rs.getString(1), id -> new ArrayList<>(1)).add(rs.getString(2));
+            }
+            return null;
+        };
+    }
+
+    private static ResultSetHandler<Void> count(Map<String, Integer> orders) {
+        return rs -> {
+            while (rs.next()) {
+                orders.put(rs.getString(1), rs.getInt(2));
+            }
+            return null;
+        };
+    }
+}
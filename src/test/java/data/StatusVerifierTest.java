@@ -0,0 +1,124 @@
+package data;
+
+import org.apache.commons.dbutils.QueryRunner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatusVerifierTest {
+    // строки «из прошлого» не попадают в окна OrderTracker параллельно идущих тестов
+    private static final Timestamp CREATED = Timestamp.valueOf("2000-01-01 00:00:00");
+    private static final Timestamp WINDOW_CREATED = Timestamp.valueOf("2000-01-02 00:00:00");
+    private static final QueryRunner runner = new QueryRunner();
+
+    private final List<String> paymentIds = new ArrayList<>();
+    private final List<String> orderIds = new ArrayList<>();
+
+    @AfterEach
+    void removeRows() throws SQLException {
+        try (var conn = ConnectionPool.lease()) {
+            for (String id : orderIds) {
+                runner.update(conn, "DELETE FROM order_entity WHERE id = ?", id);
+            }
+            for (String id : paymentIds) {
+                runner.update(conn, "DELETE FROM payment_entity WHERE id = ?", id);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Отчёт различает совпадения, расхождения, пропуски и дубликаты")
+    void shouldReportEveryCategory() throws SQLException {
+        String matching = payment("APPROVED", 1);
+        String mismatching = payment("DECLINED", 1);
+        String duplicated = payment("APPROVED", 2);
+        String withoutOrder = payment("APPROVED", 0);
+        String missing = UUID.randomUUID().toString();
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (String id : List.of(matching, mismatching, duplicated, withoutOrder, missing)) {
+            expected.put(id, "APPROVED");
+        }
+
+        StatusVerifier.Report report = StatusVerifier.verify(StatusVerifier.Flow.PAYMENT, expected);
+
+        assertEquals(5, report.getChecked());
+        assertEquals(3, report.getMatched());
+        assertEquals(List.of(mismatching), new ArrayList<>(report.getMismatches().keySet()));
+        assertEquals(List.of(missing), report.getMissing());
+        assertEquals(List.of(duplicated), report.getDuplicates());
+        assertEquals(List.of(withoutOrder), report.getMissingOrders());
+        assertFalse(report.isClean());
+    }
+
+    @Test
+    @DisplayName("Сверка по окну сравнивает число строк каждого статуса с числом принятых запросов")
+    void shouldReconcileCountsInWindow() throws SQLException {
+        payment(WINDOW_CREATED, "APPROVED", 1);
+        payment(WINDOW_CREATED, "APPROVED", 1);
+        String duplicated = payment(WINDOW_CREATED, "DECLINED", 2);
+        String orphan = UUID.randomUUID().toString();
+        order(WINDOW_CREATED, orphan);
+
+        StatusVerifier.Report report = StatusVerifier.verifyBetween(StatusVerifier.Flow.PAYMENT,
+                WINDOW_CREATED, WINDOW_CREATED, Map.of("APPROVED", 3L, "DECLINED", 1L), 0);
+
+        assertEquals(4, report.getChecked());
+        assertEquals(3, report.getMatched());
+        assertEquals(List.of("APPROVED"), new ArrayList<>(report.getMismatches().keySet()));
+        assertEquals(List.of(orphan), report.getMissing());
+        assertEquals(List.of(duplicated), report.getDuplicates());
+        assertEquals(List.of(), report.getMissingOrders());
+    }
+
+    @Test
+    @DisplayName("Запросы без подтверждения допускают лишние строки")
+    void shouldAllowUnconfirmedRowsInWindow() throws SQLException {
+        Timestamp created = Timestamp.valueOf("2000-01-03 00:00:00");
+        payment(created, "APPROVED", 1);
+        payment(created, "APPROVED", 1);
+
+        StatusVerifier.Report report = StatusVerifier.verifyBetween(StatusVerifier.Flow.PAYMENT,
+                created, created, Map.of("APPROVED", 1L), 1);
+
+        assertTrue(report.isClean());
+    }
+
+    private String payment(String status, int orders) throws SQLException {
+        return payment(CREATED, status, orders);
+    }
+
+    private String payment(Timestamp created, String status, int orders) throws SQLException {
+        String id = UUID.randomUUID().toString();
+        String transactionId = UUID.randomUUID().toString();
+        try (var conn = ConnectionPool.lease()) {
+            runner.update(conn, "INSERT INTO payment_entity (id, amount, created, status, transaction_id) " +
+                    "VALUES (?, ?, ?, ?, ?)", id, 4_500_000, created, status, transactionId);
+            paymentIds.add(id);
+        }
+        for (int i = 0; i < orders; i++) {
+            order(created, transactionId);
+        }
+        return transactionId;
+    }
+
+    private void order(Timestamp created, String transactionId) throws SQLException {
+        String orderId = UUID.randomUUID().toString();
+        try (var conn = ConnectionPool.lease()) {
+            runner.update(conn, "INSERT INTO order_entity (id, created, credit_id, payment_id) " +
+                    "VALUES (?, ?, ?, ?)", orderId, created, null, transactionId);
+        }
+        orderIds.add(orderId);
+    }
+}
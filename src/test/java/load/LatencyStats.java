@@ -0,0 +1,53 @@
+package load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class LatencyStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    public void record(String outcome, long durationNanos) {
+        long micros = Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMicros(durationNanos), HIGHEST_TRACKABLE_MICROS));
+        histograms.computeIfAbsent(outcome, key -> new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(micros);
+    }
+
+    public Map<String, Map<String, Object>> summarize(double elapsedSeconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            summary.put(entry.getKey(), describe(entry.getValue(), elapsedSeconds));
+            total.add(entry.getValue());
+        }
+        summary.put("TOTAL", describe(total, elapsedSeconds));
+        return summary;
+    }
+
+    private static Map<String, Object> describe(Histogram histogram, double elapsedSeconds) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("count", histogram.getTotalCount());
+        row.put("throughputRps", round(histogram.getTotalCount() / elapsedSeconds));
+        row.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        row.put("p95Ms", millis(histogram.getValueAtPercentile(95)));
+        row.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        row.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        row.put("maxMs", millis(histogram.getMaxValue()));
+        return row;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,111 @@
+package load;
+
+import api.ApiClient;
+import api.ApiResponse;
+import com.google.gson.GsonBuilder;
+import data.CardDataPool;
+import data.DataHelper;
+import support.GateEmulator;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class LoadRunner {
+    private static final String PAYMENT_PATH = "/api/v1/pay";
+    private static final String CREDIT_PATH = "/api/v1/credit";
+
+    private final int concurrency = Integer.getInteger("load.concurrency", 1000);
+    private final long durationNanos = TimeUnit.SECONDS.toNanos(Integer.getInteger("load.duration", 60));
+    private final double creditShare = Double.parseDouble(System.getProperty("load.creditShare", "0.3"));
+    private final double declinedShare = Double.parseDouble(System.getProperty("load.declinedShare", "0.3"));
+    private final double invalidShare = Double.parseDouble(System.getProperty("load.invalidShare", "0.1"));
+    private final LatencyStats stats = new LatencyStats();
+    private final CardDataPool cards = CardDataPool.generate(
+            Long.getLong("load.seed", 42L), Integer.getInteger("load.poolSize", 20_000));
+
+    public static void main(String[] args) throws Exception {
+        new LoadRunner().run();
+    }
+
+    private void run() throws Exception {
+        GateEmulator gateEmulator = GateEmulator.startIfEnabled();
+        ExecutorService executor = createExecutor();
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        for (int i = 0; i < concurrency; i++) {
+            executor.submit(() -> work(deadline));
+        }
+        executor.shutdown();
+        executor.awaitTermination(durationNanos + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        if (gateEmulator != null) {
+            gateEmulator.stop();
+        }
+        report(stats.summarize(elapsedSeconds), elapsedSeconds);
+    }
+
+    private void work(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String path = random.nextDouble() < creditShare ? CREDIT_PATH : PAYMENT_PATH;
+            String flow = path.equals(CREDIT_PATH) ? "credit" : "payment";
+            DataHelper.CardInfo cardInfo = nextCard(random.nextDouble());
+            long start = System.nanoTime();
+            try {
+                ApiResponse response = ApiClient.post(path, cardInfo);
+                stats.record(flow + "/" + outcome(response), response.getDurationNanos());
+            } catch (Exception e) {
+                stats.record(flow + "/ERROR", System.nanoTime() - start);
+            }
+        }
+    }
+
+    private DataHelper.CardInfo nextCard(double roll) {
+        if (roll < invalidShare) {
+            return cards.next(CardDataPool.Kind.INVALID);
+        }
+        if (roll < invalidShare + declinedShare) {
+            return cards.next(CardDataPool.Kind.DECLINED);
+        }
+        return cards.next(CardDataPool.Kind.VALID);
+    }
+
+    private static String outcome(ApiResponse response) {
+        if (!response.isSuccessful()) {
+            return "HTTP_" + response.getStatusCode();
+        }
+        return response.getStatus() == null ? "OK" : response.getStatus();
+    }
+
+    private ExecutorService createExecutor() {
+        // Виртуальные потоки есть только с Java 21, проект собирается под 11 — берём их через reflection
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Виртуальные потоки недоступны, используется пул из " + concurrency + " потоков");
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    private void report(Map<String, Map<String, Object>> summary, double elapsedSeconds) throws Exception {
+        System.out.printf("%nНагрузка: %d потоков, %.1f с, %s%n", concurrency, elapsedSeconds, ApiClient.getBaseUrl());
+        System.out.printf("%-24s %10s %10s %10s %10s %10s %10s %10s%n",
+                "outcome", "count", "rps", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, Map<String, Object>> entry : summary.entrySet()) {
+            Map<String, Object> row = entry.getValue();
+            System.out.printf("%-24s %10s %10s %10s %10s %10s %10s %10s%n", entry.getKey(),
+                    row.get("count"), row.get("throughputRps"), row.get("p50Ms"), row.get("p95Ms"),
+                    row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+        Path reportFile = Paths.get(System.getProperty("load.report", "build/reports/load/load-report.json"));
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, new GsonBuilder().setPrettyPrinting().create().toJson(summary));
+        System.out.println("Отчёт: " + reportFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,269 @@
+package load;
+
+import api.CardApi;
+import api.CreditApi;
+import api.PaymentApi;
+import com.google.gson.GsonBuilder;
+import data.DataHelper;
+import data.SQLHelper;
+import data.StatusVerifier;
+import lombok.Value;
+import support.GateEmulator;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class SoakRunner {
+    private final long durationNanos = TimeUnit.MINUTES.toNanos(Integer.getInteger("soak.duration", 240));
+    private final long intervalSeconds = Integer.getInteger("soak.interval", 60);
+    private final double rate = Double.parseDouble(System.getProperty("soak.rate", "5"));
+    private final int workers = Integer.getInteger("soak.workers", 8);
+    private final double driftTolerance = Double.parseDouble(System.getProperty("soak.drift", "0.5"));
+    private final double errorRateTolerance = Double.parseDouble(System.getProperty("soak.errorDrift", "0.01"));
+    private final String jmxUrl = System.getProperty("sut.jmx.url", "");
+
+    private final List<Scenario> scenarios = List.of(
+            new Scenario("payment/APPROVED", StatusVerifier.Flow.PAYMENT, "APPROVED",
+                    PaymentApi::new, DataHelper::getValidCardInfo),
+            new Scenario("payment/DECLINED", StatusVerifier.Flow.PAYMENT, "DECLINED",
+                    PaymentApi::new, DataHelper::getDeclinedCardInfo),
+            new Scenario("credit/APPROVED", StatusVerifier.Flow.CREDIT, "APPROVED",
+                    CreditApi::new, DataHelper::getValidCardInfo),
+            new Scenario("credit/DECLINED", StatusVerifier.Flow.CREDIT, "DECLINED",
+                    CreditApi::new, DataHelper::getDeclinedCardInfo));
+    // сценарии идут одновременно, и окно заказа у отдельного запроса неоднозначно; поэтому сценарий проверяет
+    // только ответ API, а строки в БД сверяются в конце по всем идентификаторам, созданным за прогон
+    private final Map<StatusVerifier.Flow, Map<String, LongAdder>> accepted = Map.of(
+            StatusVerifier.Flow.PAYMENT, new ConcurrentHashMap<>(),
+            StatusVerifier.Flow.CREDIT, new ConcurrentHashMap<>());
+    private final Map<StatusVerifier.Flow, LongAdder> unconfirmed = Map.of(
+            StatusVerifier.Flow.PAYMENT, new LongAdder(),
+            StatusVerifier.Flow.CREDIT, new LongAdder());
+    private final List<StatusVerifier.Report> verification = new ArrayList<>();
+    private final AtomicLong ticks = new AtomicLong();
+    private final List<Map<String, Object>> intervals = new ArrayList<>();
+    private final List<String> drifts = new ArrayList<>();
+    private final AtomicReference<LatencyStats> stats = new AtomicReference<>(new LatencyStats());
+
+    private MBeanServerConnection jmx;
+
+    public static void main(String[] args) throws Exception {
+        SoakRunner runner = new SoakRunner();
+        boolean drifted = runner.run();
+        boolean consistent = runner.verification.stream().allMatch(StatusVerifier.Report::isClean);
+        System.exit(!consistent || drifted && !Boolean.getBoolean("soak.ignoreDrift") ? 1 : 0);
+    }
+
+    private boolean run() throws Exception {
+        GateEmulator gateEmulator = GateEmulator.startIfEnabled();
+        JMXConnector connector = connectJmx();
+        ExecutorService workerPool = Executors.newFixedThreadPool(workers);
+        ScheduledExecutorService traffic = Executors.newSingleThreadScheduledExecutor();
+        long periodNanos = Math.round(1e9 / rate);
+        Timestamp since = now();
+        long start = System.nanoTime();
+        // планировщик только раздаёт сценарии исполнителям: медленный SUT копит очередь, но не снижает заданный темп,
+        // а задержка считается от запланированного момента старта и включает время в очереди
+        traffic.scheduleAtFixedRate(() -> {
+            long tick = ticks.getAndIncrement();
+            Scenario scenario = scenarios.get((int) (tick % scenarios.size()));
+            long intendedStart = start + tick * periodNanos;
+            workerPool.execute(() -> runScenario(scenario, intendedStart));
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        try {
+            while (System.nanoTime() - start < durationNanos) {
+                TimeUnit.SECONDS.sleep(intervalSeconds);
+                sampleInterval(intervals.size() + 1);
+            }
+        } finally {
+            traffic.shutdownNow();
+            traffic.awaitTermination(1, TimeUnit.MINUTES);
+            workerPool.shutdown();
+            if (!workerPool.awaitTermination(2, TimeUnit.MINUTES)) {
+                workerPool.shutdownNow();
+            }
+            if (connector != null) {
+                connector.close();
+            }
+            if (gateEmulator != null) {
+                gateEmulator.stop();
+            }
+        }
+        verifySubmitted(since, now());
+        report();
+        return !drifts.isEmpty();
+    }
+
+    private void runScenario(Scenario scenario, long intendedStart) {
+        try {
+            scenario.getApi().get().submit(scenario.getCard().get()).verifyResponse(scenario.getExpectedStatus());
+            stats.get().record(scenario.getName(), System.nanoTime() - intendedStart);
+            accepted.get(scenario.getFlow()).computeIfAbsent(scenario.getExpectedStatus(), status -> new LongAdder())
+                    .increment();
+        } catch (Exception | AssertionError e) {
+            stats.get().record(scenario.getName() + "/FAILED", System.nanoTime() - intendedStart);
+            unconfirmed.get(scenario.getFlow()).increment();
+        }
+    }
+
+    private void verifySubmitted(Timestamp since, Timestamp until) {
+        // к концу прогона все строки, созданные за прогон, сверяются разом: дубли и пропавшие заказы видны только так
+        for (StatusVerifier.Flow flow : StatusVerifier.Flow.values()) {
+            Map<String, Long> expected = new TreeMap<>();
+            accepted.get(flow).forEach((status, count) -> expected.put(status, count.sum()));
+            StatusVerifier.Report report = StatusVerifier.verifyBetween(flow, since, until, expected,
+                    unconfirmed.get(flow).sum());
+            verification.add(report);
+            System.out.println("Сверка с БД: " + report);
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private void sampleInterval(int number) {
+        // записи идут в тот экземпляр, который сейчас в ссылке, и после подмены попадают уже в следующий интервал
+        LatencyStats finished = stats.getAndSet(new LatencyStats());
+        Map<String, Object> interval = new LinkedHashMap<>();
+        interval.put("interval", number);
+        Map<String, Map<String, Object>> latency = finished.summarize(intervalSeconds);
+        interval.put("latency", latency);
+        interval.put("errorRate", errorRate(latency));
+        interval.put("rows", SQLHelper.countRows());
+        if (jmx != null) {
+            interval.put("sut", sampleSut());
+        }
+        intervals.add(interval);
+        System.out.printf("Интервал %d: %s%n", number, interval);
+        if (number > 1) {
+            checkDrift(intervals.get(0), interval);
+        }
+    }
+
+    private static double errorRate(Map<String, Map<String, Object>> latency) {
+        long total = ((Number) latency.get("TOTAL").get("count")).longValue();
+        long failed = latency.entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith("/FAILED"))
+                .mapToLong(entry -> ((Number) entry.getValue().get("count")).longValue())
+                .sum();
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    private Map<String, Object> sampleSut() {
+        Map<String, Object> sut = new LinkedHashMap<>();
+        try {
+            MemoryMXBean memory = ManagementFactory.newPlatformMXBeanProxy(
+                    jmx, ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+            ThreadMXBean threads = ManagementFactory.newPlatformMXBeanProxy(
+                    jmx, ManagementFactory.THREAD_MXBEAN_NAME, ThreadMXBean.class);
+            sut.put("heapUsedMb", memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+            sut.put("heapCommittedMb", memory.getHeapMemoryUsage().getCommitted() / (1024 * 1024));
+            sut.put("threads", threads.getThreadCount());
+        } catch (Exception e) {
+            sut.put("error", e.toString());
+        }
+        return sut;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkDrift(Map<String, Object> first, Map<String, Object> current) {
+        Map<String, Map<String, Object>> firstLatency = (Map<String, Map<String, Object>>) first.get("latency");
+        Map<String, Map<String, Object>> currentLatency = (Map<String, Map<String, Object>>) current.get("latency");
+        compare(current, "p95 задержки, мс", firstLatency.get("TOTAL").get("p95Ms"), currentLatency.get("TOTAL").get("p95Ms"));
+        double firstErrors = ((Number) first.get("errorRate")).doubleValue();
+        double currentErrors = ((Number) current.get("errorRate")).doubleValue();
+        if (currentErrors > firstErrors + errorRateTolerance) {
+            flag(String.format(Locale.ROOT, "Интервал %s: доля ошибок выросла с %.2f%% до %.2f%%",
+                    current.get("interval"), firstErrors * 100, currentErrors * 100));
+        }
+        Map<String, Object> firstSut = (Map<String, Object>) first.get("sut");
+        Map<String, Object> currentSut = (Map<String, Object>) current.get("sut");
+        if (firstSut != null && currentSut != null) {
+            // heap после GC колеблется, поэтому сравниваем с тем же допуском, что и задержку
+            compare(current, "heap SUT, МБ", firstSut.get("heapUsedMb"), currentSut.get("heapUsedMb"));
+            compare(current, "потоки SUT", firstSut.get("threads"), currentSut.get("threads"));
+        }
+    }
+
+    private void compare(Map<String, Object> interval, String metric, Object baseline, Object current) {
+        if (!(baseline instanceof Number) || !(current instanceof Number)) {
+            return;
+        }
+        double base = ((Number) baseline).doubleValue();
+        double value = ((Number) current).doubleValue();
+        if (base > 0 && value > base * (1 + driftTolerance)) {
+            flag(String.format("Интервал %s: %s выросло с %.1f до %.1f", interval.get("interval"), metric, base, value));
+        }
+    }
+
+    private void flag(String drift) {
+        drifts.add(drift);
+        System.out.println("ДРЕЙФ: " + drift);
+    }
+
+    private JMXConnector connectJmx() {
+        if (jmxUrl.isBlank()) {
+            System.out.println("sut.jmx.url не задан, heap и потоки SUT не снимаются");
+            return null;
+        }
+        try {
+            JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(jmxUrl));
+            jmx = connector.getMBeanServerConnection();
+            return connector;
+        } catch (Exception e) {
+            System.out.println("Не удалось подключиться к JMX SUT " + jmxUrl + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void report() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("intervalSeconds", intervalSeconds);
+        report.put("rate", rate);
+        report.put("workers", workers);
+        report.put("driftTolerance", driftTolerance);
+        report.put("drifts", drifts);
+        report.put("verification", verification.stream().map(String::valueOf).collect(Collectors.toList()));
+        report.put("intervals", intervals);
+        Path reportFile = Paths.get(System.getProperty("soak.report", "build/reports/soak/soak-report.json"));
+        Files.createDirectories(reportFile.getParent());
+        Files.writeString(reportFile, new GsonBuilder().setPrettyPrinting().create().toJson(report));
+        System.out.println("Отчёт: " + reportFile.toAbsolutePath());
+    }
+
+    @Value
+    private static class Scenario {
+        String name;
+        StatusVerifier.Flow flow;
+        String expectedStatus;
+        Supplier<CardApi> api;
+        Supplier<DataHelper.CardInfo> card;
+    }
+}
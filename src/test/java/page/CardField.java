@@ -0,0 +1,19 @@
+package page;
+
+public enum CardField {
+    NUMBER("Номер карты"),
+    MONTH("Месяц"),
+    YEAR("Год"),
+    HOLDER("Владелец"),
+    CVC("CVC/CVV");
+
+    private final String label;
+
+    CardField(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,201 @@
+package page;
+
+import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.logevents.SelenideLogger;
+import data.DataHelper;
+import org.openqa.selenium.WebElement;
+import support.AdaptiveTimeouts;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.codeborne.selenide.Condition.*;
+import static com.codeborne.selenide.Selenide.$;
+import static com.codeborne.selenide.Selenide.$$;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+import static com.codeborne.selenide.Selenide.sleep;
+
+public abstract class CardFormPage {
+    static final String CARD_FORM_ELEMENTS =
+            "var inputs = document.querySelectorAll('.input__control');" +
+            "var elements = [" +
+            "  document.querySelector(\"input[placeholder='0000 0000 0000 0000']\")," +
+            "  document.querySelector(\"input[placeholder='08']\")," +
+            "  document.querySelector(\"input[placeholder='22']\")," +
+            "  inputs.length > 3 ? inputs[3] : null," +
+            "  document.querySelector(\"input[placeholder='999']\")," +
+            "  Array.prototype.find.call(document.querySelectorAll('button')," +
+            "    function (button) { return button.textContent.trim() === 'Продолжить'; }) || null," +
+            "  document.querySelector('.notification_status_ok')," +
+            "  document.querySelector('.notification_status_error')" +
+            "];";
+    private static final String RESOLVE_SCRIPT = CARD_FORM_ELEMENTS + "return elements;";
+    private static final String READ_STATE_SCRIPT = CARD_FORM_ELEMENTS +
+            "function shown(el) { return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden'; }" +
+            "return elements.slice(0, 5).map(function (input) {" +
+            "  if (!input) { return [null, null]; }" +
+            "  var box = input.closest('.input');" +
+            "  var sub = box ? box.querySelector('.input__sub') : null;" +
+            "  return [input.value, sub && shown(sub) ? sub.textContent.trim() : null];" +
+            "});";
+
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration ERROR_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration POLLING_INTERVAL = Duration.ofMillis(100);
+    private static final ErrorExpectations INVALID_FORMAT = ErrorExpectations.anyField("Неверный формат");
+    private static final ErrorExpectations INVALID_EXPIRATION = ErrorExpectations.anyField(
+            "Истёк срок действия карты",
+            "Неверно указан срок действия карты"
+    );
+
+    private final SelenideElement cardNumberField;
+    private final SelenideElement monthField;
+    private final SelenideElement yearField;
+    private final SelenideElement holderField;
+    private final SelenideElement cvcField;
+    private final SelenideElement continueButton;
+    private final SelenideElement successNotification;
+    private final SelenideElement errorNotification;
+
+    protected CardFormPage(SelenideElement heading, Duration headingTimeout) {
+        waitFor(getClass().getSimpleName() + ".heading", headingTimeout, limit -> heading.shouldBe(visible, limit));
+        // все элементы формы находим одним скриптом и дальше работаем с уже найденными
+        List<WebElement> elements = executeJavaScript(RESOLVE_SCRIPT);
+        cardNumberField = resolved(elements, 0, "input[placeholder='0000 0000 0000 0000']");
+        monthField = resolved(elements, 1, "input[placeholder='08']");
+        yearField = resolved(elements, 2, "input[placeholder='22']");
+        holderField = elements.get(3) != null ? $(elements.get(3)) : $$(".input__control").get(3);
+        cvcField = resolved(elements, 4, "input[placeholder='999']");
+        continueButton = elements.get(5) != null ? $(elements.get(5)) : $$("button").find(exactText("Продолжить"));
+        successNotification = resolved(elements, 6, ".notification_status_ok");
+        errorNotification = resolved(elements, 7, ".notification_status_error");
+    }
+
+    private static void waitFor(String waitPoint, Duration fallback, Consumer<Duration> wait) {
+        Duration limit = AdaptiveTimeouts.timeout(waitPoint, fallback);
+        long start = System.nanoTime();
+        try {
+            wait.accept(limit);
+        } catch (AssertionError e) {
+            AdaptiveTimeouts.recordTimeout(waitPoint, limit);
+            throw e;
+        }
+        AdaptiveTimeouts.record(waitPoint, start, limit);
+    }
+
+    private static SelenideElement resolved(List<WebElement> elements, int index, String fallbackSelector) {
+        WebElement element = elements.get(index);
+        return element != null ? $(element) : $(fallbackSelector);
+    }
+
+    public void fillForm(DataHelper.CardInfo cardInfo) {
+        SelenideLogger.run(getClass().getSimpleName(), "fillForm", () -> {
+            if (FastFill.ENABLED) {
+                FastFill.fillAndSubmit(cardInfo);
+                return;
+            }
+            cardNumberField.setValue(cardInfo.getNumber());
+            monthField.setValue(cardInfo.getMonth());
+            yearField.setValue(cardInfo.getYear());
+            holderField.setValue(cardInfo.getHolder());
+            cvcField.setValue(cardInfo.getCvc());
+            continueButton.click();
+        });
+    }
+
+    public FormState readState() {
+        List<List<String>> fields = executeJavaScript(READ_STATE_SCRIPT);
+        Map<CardField, String> values = new EnumMap<>(CardField.class);
+        Map<CardField, String> errors = new EnumMap<>(CardField.class);
+        for (CardField field : CardField.values()) {
+            List<String> state = fields.get(field.ordinal());
+            values.put(field, state.get(0));
+            if (state.get(1) != null) {
+                errors.put(field, state.get(1));
+            }
+        }
+        return new FormState(values, errors);
+    }
+
+    public void verifySuccessNotification() {
+        SelenideLogger.run(getClass().getSimpleName(), "verifySuccessNotification", () -> {
+            waitFor("notification", NOTIFICATION_TIMEOUT, limit -> successNotification.shouldBe(visible, limit));
+            successNotification.$(".notification__content")
+                    .shouldHave(exactText("Операция одобрена Банком."));
+        });
+    }
+
+    public void verifyErrorNotification() {
+        SelenideLogger.run(getClass().getSimpleName(), "verifyErrorNotification", () -> {
+            waitFor("notification", NOTIFICATION_TIMEOUT, limit -> errorNotification.shouldBe(visible, limit));
+            errorNotification.$(".notification__content")
+                    .shouldHave(exactText("Ошибка! Банк отказал в проведении операции."));
+        });
+    }
+
+    public void verifyAnyErrorMessage(String... expectedTexts) {
+        verifyErrors(ErrorExpectations.anyField(expectedTexts));
+    }
+
+    public void verifyFieldError(CardField field, String... expectedTexts) {
+        verifyErrors(ErrorExpectations.expect(field, expectedTexts));
+    }
+
+    public void verifyErrors(ErrorExpectations expectations) {
+        SelenideLogger.run(getClass().getSimpleName(), "verifyErrors", () -> {
+            Duration limit = AdaptiveTimeouts.timeout("fieldError", ERROR_TIMEOUT);
+            long start = System.nanoTime();
+            long deadline = start + limit.toNanos();
+            FormState state = readState();
+            Long errorShownAt = state.hasErrors() ? System.nanoTime() : null;
+            List<String> mismatches = expectations.mismatches(state);
+            while (!mismatches.isEmpty() && System.nanoTime() < deadline) {
+                sleep(POLLING_INTERVAL.toMillis());
+                state = readState();
+                if (errorShownAt == null && state.hasErrors()) {
+                    errorShownAt = System.nanoTime();
+                }
+                mismatches = expectations.mismatches(state);
+            }
+            if (!mismatches.isEmpty()) {
+                // до предела не дождались только тогда, когда ошибки не было вовсе; неверный текст появился вовремя,
+                // и его время — обычный замер, иначе стабильно падающие кейсы вытягивают таймаут к потолку
+                if (errorShownAt == null) {
+                    AdaptiveTimeouts.recordTimeout("fieldError", limit);
+                } else {
+                    AdaptiveTimeouts.record("fieldError", start, errorShownAt, limit);
+                }
+                throw new AssertionError(String.join("\n", mismatches));
+            }
+            AdaptiveTimeouts.record("fieldError", start, limit);
+        });
+    }
+
+    public void verifyInvalidFormat() {
+        verifyErrors(INVALID_FORMAT);
+    }
+
+    public void verifyInvalidCardExpirationDate() {
+        verifyErrors(INVALID_EXPIRATION);
+    }
+
+    public void verifyCardExpired() {
+        verifyErrors(INVALID_EXPIRATION);
+    }
+
+    public void verifyHolderAcceptsInput() {
+        SelenideLogger.run(getClass().getSimpleName(), "verifyHolderAcceptsInput", () -> {
+            List<String> mismatches = ErrorExpectations.none().mismatches(readState());
+            if (!mismatches.isEmpty()) {
+                throw new AssertionError(String.join("\n", mismatches));
+            }
+        });
+    }
+
+    public void verifyInvalidHolderFormat() {
+        verifyErrors(INVALID_FORMAT);
+    }
+}
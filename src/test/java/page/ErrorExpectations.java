@@ -0,0 +1,70 @@
+package page;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public class ErrorExpectations {
+    private final Map<CardField, Pattern> fields = new EnumMap<>(CardField.class);
+    private final Map<CardField, String> descriptions = new EnumMap<>(CardField.class);
+    private Pattern anyField;
+    private String anyFieldDescription;
+
+    private ErrorExpectations() {
+    }
+
+    public static ErrorExpectations expect(CardField field, String... texts) {
+        return new ErrorExpectations().and(field, texts);
+    }
+
+    public static ErrorExpectations anyField(String... texts) {
+        ErrorExpectations expectations = new ErrorExpectations();
+        expectations.anyField = compile(texts);
+        expectations.anyFieldDescription = String.join(", ", texts);
+        return expectations;
+    }
+
+    public static ErrorExpectations none() {
+        return new ErrorExpectations();
+    }
+
+    public ErrorExpectations and(CardField field, String... texts) {
+        fields.put(field, compile(texts));
+        descriptions.put(field, String.join(", ", texts));
+        return this;
+    }
+
+    public List<String> mismatches(FormState state) {
+        Map<CardField, String> errors = state.getErrors();
+        if (anyField != null) {
+            // как и раньше с $(".input__sub"), смотрим на первую видимую ошибку в порядке полей
+            String first = errors.isEmpty() ? null : errors.values().iterator().next();
+            if (first == null || !anyField.matcher(first).find()) {
+                return Collections.singletonList(String.format(
+                        "Ожидался один из текстов: %s, но найдено: '%s'", anyFieldDescription, first));
+            }
+            return Collections.emptyList();
+        }
+        List<String> mismatches = new ArrayList<>();
+        for (CardField field : CardField.values()) {
+            Pattern expected = fields.get(field);
+            String actual = errors.get(field);
+            if (expected == null && actual != null && fields.isEmpty()) {
+                mismatches.add(String.format("%s: ошибки быть не должно, но найдено: '%s'", field.getLabel(), actual));
+            } else if (expected != null && (actual == null || !expected.matcher(actual).find())) {
+                mismatches.add(String.format("%s: ожидался один из текстов: %s, но найдено: '%s'",
+                        field.getLabel(), descriptions.get(field), actual));
+            }
+        }
+        return mismatches;
+    }
+
+    private static Pattern compile(String... texts) {
+        return Pattern.compile(Arrays.stream(texts).map(Pattern::quote).collect(Collectors.joining("|")));
+    }
+}
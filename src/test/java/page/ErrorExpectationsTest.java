@@ -0,0 +1,58 @@
+package page;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ErrorExpectationsTest {
+
+    private static FormState errors(Object... fieldsAndTexts) {
+        Map<CardField, String> errors = new EnumMap<>(CardField.class);
+        for (int i = 0; i < fieldsAndTexts.length; i += 2) {
+            errors.put((CardField) fieldsAndTexts[i], (String) fieldsAndTexts[i + 1]);
+        }
+        return new FormState(new EnumMap<>(CardField.class), errors);
+    }
+
+    @Test
+    @DisplayName("Ожидаемая ошибка поля совпадает")
+    void shouldMatchExpectedFieldError() {
+        ErrorExpectations expectations = ErrorExpectations.expect(CardField.MONTH, "Неверный формат", "Неверно указан срок");
+
+        assertTrue(expectations.mismatches(errors(CardField.MONTH, "Неверно указан срок действия карты")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ошибка у другого поля или другой текст — расхождение")
+    void shouldReportMissingOrWrongFieldError() {
+        ErrorExpectations expectations = ErrorExpectations.expect(CardField.CVC, "Неверный формат");
+
+        assertEquals(1, expectations.mismatches(errors(CardField.NUMBER, "Неверный формат")).size());
+        assertEquals(1, expectations.mismatches(errors(CardField.CVC, "Поле обязательно для заполнения")).size());
+    }
+
+    @Test
+    @DisplayName("none() не допускает никаких ошибок")
+    void shouldRejectAnyErrorWhenNoneExpected() {
+        List<String> mismatches = ErrorExpectations.none().mismatches(errors(CardField.HOLDER, "Неверный формат"));
+
+        assertEquals(1, mismatches.size());
+        assertTrue(ErrorExpectations.none().mismatches(errors()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("anyField() проверяет первую ошибку в порядке полей")
+    void shouldCheckFirstErrorForAnyField() {
+        ErrorExpectations expectations = ErrorExpectations.anyField("Неверный формат");
+
+        assertTrue(expectations.mismatches(errors(CardField.NUMBER, "Неверный формат", CardField.CVC, "Другое")).isEmpty());
+        assertEquals(1, expectations.mismatches(errors(CardField.NUMBER, "Другое", CardField.CVC, "Неверный формат")).size());
+        assertEquals(1, expectations.mismatches(errors()).size());
+    }
+}
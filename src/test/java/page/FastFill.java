@@ -0,0 +1,35 @@
+package page;
+
+import data.DataHelper;
+
+import static com.codeborne.selenide.Selenide.executeJavaScript;
+
+class FastFill {
+    static final boolean ENABLED = Boolean.getBoolean("form.fastFill");
+
+    private static final String FILL_AND_SUBMIT_SCRIPT =
+            "var values = arguments;" +
+            CardFormPage.CARD_FORM_ELEMENTS +
+            "var inputs = elements.slice(0, 5);" +
+            "var submit = elements[5];" +
+            "if (inputs.indexOf(null) >= 0 || !submit) {" +
+            "  throw new Error('Форма карты не найдена на странице');" +
+            "}" +
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "inputs.forEach(function (input, i) {" +
+            "  input.focus();" +
+            "  setter.call(input, values[i]);" +
+            "  input.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  input.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  input.dispatchEvent(new Event('blur'));" +
+            "});" +
+            "submit.click();";
+
+    private FastFill() {
+    }
+
+    static void fillAndSubmit(DataHelper.CardInfo cardInfo) {
+        executeJavaScript(FILL_AND_SUBMIT_SCRIPT, cardInfo.getNumber(), cardInfo.getMonth(),
+                cardInfo.getYear(), cardInfo.getHolder(), cardInfo.getCvc());
+    }
+}
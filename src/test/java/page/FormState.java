@@ -0,0 +1,15 @@
+package page;
+
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+public class FormState {
+    Map<CardField, String> values;
+    Map<CardField, String> errors;
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
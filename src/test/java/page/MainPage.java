@@ -1,12 +1,37 @@
 package page;
 
 import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.logevents.SelenideLogger;
 
 import static com.codeborne.selenide.Condition.*;
 import static com.codeborne.selenide.Selenide.$;
 import static com.codeborne.selenide.Selenide.$$;
+import static com.codeborne.selenide.Selenide.executeJavaScript;
 
 public class MainPage {
+    private static final String RESET_FORM_SCRIPT =
+            "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+            "document.querySelectorAll('.input__control').forEach(function (input) {" +
+            "  setter.call(input, '');" +
+            "  input.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  input.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "});" +
+            "document.querySelectorAll('.notification__closer').forEach(function (closer) { closer.click(); });" +
+            "var onPayment = Array.prototype.some.call(document.querySelectorAll('h3.heading')," +
+            "  function (h) { return h.textContent.indexOf('Оплата по карте') >= 0; });" +
+            "var other = onPayment ? 'Купить в кредит' : 'Купить';" +
+            "Array.prototype.forEach.call(document.querySelectorAll('button'), function (button) {" +
+            "  if (button.textContent.trim() === other) { button.click(); }" +
+            "});";
+    private static final String FORM_IS_CLEAN_SCRIPT =
+            "function shown(el) { return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden'; }" +
+            "var inputsEmpty = Array.prototype.every.call(document.querySelectorAll('.input__control')," +
+            "  function (input) { return input.value === ''; });" +
+            "var errors = Array.prototype.some.call(document.querySelectorAll('.input__sub'), shown);" +
+            "var notifications = Array.prototype.some.call(" +
+            "  document.querySelectorAll('.notification_status_ok, .notification_status_error'), shown);" +
+            "return inputsEmpty && !errors && !notifications;";
+
     private SelenideElement heading = $(".heading");
     private SelenideElement buyButton = $$("button").find(exactText("Купить"));
     private SelenideElement creditButton = $$("button").find(exactText("Купить в кредит"));
@@ -16,12 +41,22 @@ public class MainPage {
     }
 
     public PaymentPage goToPaymentPage() {
-        buyButton.click();
-        return new PaymentPage();
+        return SelenideLogger.get("MainPage", "goToPaymentPage", () -> {
+            buyButton.click();
+            return new PaymentPage();
+        });
     }
 
     public CreditPage goToCreditPage() {
-        creditButton.click();
-        return new CreditPage();
+        return SelenideLogger.get("MainPage", "goToCreditPage", () -> {
+            creditButton.click();
+            return new CreditPage();
+        });
+    }
+
+    public static boolean resetForm() {
+        executeJavaScript(RESET_FORM_SCRIPT);
+        Boolean clean = executeJavaScript(FORM_IS_CLEAN_SCRIPT);
+        return Boolean.TRUE.equals(clean);
     }
-}
\ No newline at end of file
+}
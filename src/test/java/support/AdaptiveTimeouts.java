@@ -0,0 +1,172 @@
+package support;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+public class AdaptiveTimeouts {
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Type HISTORY_TYPE = new TypeToken<Map<String, List<Long>>>() {
+    }.getType();
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("waits.adaptive", "true"));
+    private static final Path HISTORY_FILE = Paths.get(System.getProperty("waits.history", ".wait-history.json"));
+    private static final int HISTORY_SIZE = 500;
+    private static final int MIN_SAMPLES = 20;
+    private static final double PERCENTILE = 0.99;
+    private static final double MARGIN_FACTOR = 1.5;
+    private static final long MARGIN_MILLIS = 1000;
+    private static final double NEAR_LIMIT = 0.8;
+    private static final double FLOOR_FACTOR = 0.5;
+
+    private static final Map<String, List<Long>> history = loadHistory();
+    private static final Map<String, Duration> timeouts = new ConcurrentHashMap<>();
+    private static final Map<String, Queue<Long>> observed = new ConcurrentHashMap<>();
+    private static final Queue<NearLimitWait> nearLimitWaits = new ConcurrentLinkedQueue<>();
+
+    private AdaptiveTimeouts() {
+    }
+
+    @Value
+    public static class NearLimitWait {
+        String waitPoint;
+        long observedMillis;
+        long limitMillis;
+    }
+
+    public static Duration timeout(String waitPoint, Duration fallback) {
+        if (!ENABLED) {
+            return fallback;
+        }
+        // таймаут считаем один раз за прогон по истории прошлых прогонов, чтобы он не плавал посреди сьюта
+        return timeouts.computeIfAbsent(waitPoint, point -> derive(history.get(point), fallback));
+    }
+
+    public static void record(String waitPoint, long startNanos, Duration limit) {
+        record(waitPoint, startNanos, System.nanoTime(), limit);
+    }
+
+    public static void record(String waitPoint, long startNanos, long endNanos, Duration limit) {
+        long millis = Duration.ofNanos(endNanos - startNanos).toMillis();
+        observed.computeIfAbsent(waitPoint, point -> new ConcurrentLinkedQueue<>()).add(millis);
+        if (millis > limit.toMillis() * NEAR_LIMIT) {
+            nearLimitWaits.add(new NearLimitWait(waitPoint, millis, limit.toMillis()));
+        }
+    }
+
+    public static void recordTimeout(String waitPoint, Duration limit) {
+        // истёкшее ожидание сохраняем как цензурированный замер на пределе, иначе история видит только быстрые
+        // ожидания и таймаут может лишь сокращаться
+        observed.computeIfAbsent(waitPoint, point -> new ConcurrentLinkedQueue<>()).add(limit.toMillis());
+        nearLimitWaits.add(new NearLimitWait(waitPoint, limit.toMillis(), limit.toMillis()));
+    }
+
+    public static List<NearLimitWait> getNearLimitWaits() {
+        return new ArrayList<>(nearLimitWaits);
+    }
+
+    @SneakyThrows
+    public static void save(Path reportDirectory) {
+        if (!nearLimitWaits.isEmpty()) {
+            Files.createDirectories(reportDirectory);
+            Files.writeString(reportDirectory.resolve("near-limit-waits" + Shard.fileSuffix() + ".json"), gson.toJson(getNearLimitWaits()));
+            nearLimitWaits.forEach(wait -> System.out.printf("Ожидание %s заняло %d мс при пределе %d мс%n",
+                    wait.getWaitPoint(), wait.getObservedMillis(), wait.getLimitMillis()));
+        }
+        if (observed.isEmpty()) {
+            return;
+        }
+        // у каждого шарда свой файл: форки пишут одновременно, и общий файл они бы затирали друг у друга
+        Path file = ownHistoryFile();
+        Map<String, List<Long>> merged = new HashMap<>(read(file));
+        observed.forEach((point, values) -> {
+            List<Long> samples = new ArrayList<>(merged.getOrDefault(point, List.of()));
+            samples.addAll(values);
+            merged.put(point, samples.subList(Math.max(0, samples.size() - HISTORY_SIZE), samples.size()));
+        });
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.writeString(temporary, gson.toJson(merged, HISTORY_TYPE));
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Duration derive(List<Long> samples, Duration fallback) {
+        if (samples == null || samples.size() < MIN_SAMPLES) {
+            return fallback;
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        long percentile = sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(sorted.size() * PERCENTILE) - 1));
+        long derived = (long) (percentile * MARGIN_FACTOR) + MARGIN_MILLIS;
+        // сверху ограничиваем двойным прежним жёстким значением, чтобы медленный день не растягивал падения,
+        // снизу — половиной, чтобы быстрая локальная история не оставляла запаса на обычные колебания
+        long floor = (long) (fallback.toMillis() * FLOOR_FACTOR);
+        return Duration.ofMillis(Math.max(floor, Math.min(derived, fallback.toMillis() * 2)));
+    }
+
+    @SneakyThrows
+    private static Map<String, List<Long>> loadHistory() {
+        if (!ENABLED) {
+            return Map.of();
+        }
+        Path parent = HISTORY_FILE.toAbsolutePath().getParent();
+        if (!Files.isDirectory(parent)) {
+            return Map.of();
+        }
+        Map<String, List<Long>> union = new HashMap<>();
+        try (Stream<Path> files = Files.list(parent)) {
+            for (Path file : (Iterable<Path>) files.filter(AdaptiveTimeouts::isHistoryFile)::iterator) {
+                read(file).forEach((point, samples) -> union.computeIfAbsent(point, k -> new ArrayList<>()).addAll(samples));
+            }
+        }
+        return union;
+    }
+
+    private static boolean isHistoryFile(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.equals(HISTORY_FILE.getFileName().toString())
+                || fileName.startsWith(shardPrefix()) && fileName.endsWith(".json");
+    }
+
+    private static Path ownHistoryFile() {
+        return Shard.isSharded() ? HISTORY_FILE.resolveSibling(shardPrefix() + Shard.getIndex() + ".json") : HISTORY_FILE;
+    }
+
+    private static String shardPrefix() {
+        return HISTORY_FILE.getFileName().toString().replaceAll("\\.json$", "") + "-shard";
+    }
+
+    private static Map<String, List<Long>> read(Path file) {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        try {
+            Map<String, List<Long>> loaded = gson.fromJson(Files.readString(file), HISTORY_TYPE);
+            return loaded == null ? Map.of() : loaded;
+        } catch (IOException | JsonParseException e) {
+            // испорченная история не должна ломать page object'ы — работаем с жёсткими таймаутами
+            System.out.println("История ожиданий " + file + " не прочитана: " + e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package support;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class BrowserPool {
+    private static final int SIZE = Integer.getInteger("browser.pool.size", 0);
+
+    private static final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private static final List<WebDriver> all = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<WebDriver> leased = new ThreadLocal<>();
+    private static ExecutorService launcher;
+
+    private BrowserPool() {
+    }
+
+    public static boolean isEnabled() {
+        return SIZE > 0;
+    }
+
+    public static void warmUp() {
+        if (!isEnabled()) {
+            return;
+        }
+        // браузеры стартуют параллельно, первый тест ждёт только ближайший из них
+        launcher = Executors.newFixedThreadPool(Math.min(SIZE, Runtime.getRuntime().availableProcessors()));
+        for (int i = 0; i < SIZE; i++) {
+            launcher.submit(BrowserPool::launch);
+        }
+    }
+
+    public static void lease() throws InterruptedException {
+        while (true) {
+            WebDriver driver = idle.poll(2, TimeUnit.MINUTES);
+            if (driver == null) {
+                throw new IllegalStateException("Пул браузеров пуст: ни один Chrome не запустился за 2 минуты");
+            }
+            if (isHealthy(driver)) {
+                leased.set(driver);
+                WebDriverRunner.setWebDriver(driver);
+                return;
+            }
+            recycle(driver);
+        }
+    }
+
+    public static void release() {
+        WebDriver driver = leased.get();
+        if (driver == null) {
+            return;
+        }
+        leased.remove();
+        // вкладку не закрываем: при session.reuse следующий тест сбросит форму вместо open()
+        if (isHealthy(driver)) {
+            idle.add(driver);
+        } else {
+            recycle(driver);
+        }
+    }
+
+    public static void shutdown() throws InterruptedException {
+        if (launcher == null) {
+            return;
+        }
+        launcher.shutdownNow();
+        launcher.awaitTermination(30, TimeUnit.SECONDS);
+        for (WebDriver driver : all) {
+            quit(driver);
+        }
+        all.clear();
+        idle.clear();
+    }
+
+    private static void launch() {
+        WebDriver driver = new ChromeDriver(chromeOptions());
+        all.add(driver);
+        idle.add(driver);
+    }
+
+    private static void recycle(WebDriver broken) {
+        all.remove(broken);
+        launcher.submit(() -> {
+            quit(broken);
+            launch();
+        });
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException ignored) {
+            // браузер уже упал, освобождать нечего
+        }
+    }
+
+    static ChromeOptions chromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        if (Boolean.getBoolean("selenide.headless")) {
+            options.addArguments("--headless=new");
+        }
+        options.addArguments("--window-size=" + Configuration.browserSize.replace('x', ','));
+        options.setExperimentalOption("prefs", parsePrefs(System.getProperty("chromeoptions.prefs", "")));
+        return options;
+    }
+
+    private static Map<String, Object> parsePrefs(String prefs) {
+        Map<String, Object> result = new HashMap<>();
+        for (String pair : prefs.split(",")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length < 2) {
+                continue;
+            }
+            String value = parts[1].trim();
+            if ("true".equals(value) || "false".equals(value)) {
+                result.put(parts[0].trim(), Boolean.valueOf(value));
+            } else if (value.matches("-?\\d+")) {
+                result.put(parts[0].trim(), Integer.valueOf(value));
+            } else {
+                result.put(parts[0].trim(), value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,107 @@
+package support;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import data.DataHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class GateEmulator {
+    private static final byte[] APPROVED = "{\"status\":\"APPROVED\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DECLINED = "{\"status\":\"DECLINED\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UNKNOWN_CARD = "{\"message\":\"Card not found\"}".getBytes(StandardCharsets.UTF_8);
+    private static final Map<String, byte[]> cards = Map.of(
+            DataHelper.getApprovedCardNumber(), APPROVED,
+            DataHelper.getDeclinedCardNumber(), DECLINED
+    );
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private GateEmulator(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static GateEmulator startIfEnabled() throws IOException {
+        if (!Boolean.parseBoolean(System.getProperty("gate.emulator", "true"))) {
+            return null;
+        }
+        int port = Integer.getInteger("gate.port", 9999);
+        try {
+            return start(port);
+        } catch (BindException e) {
+            System.out.println("Порт " + port + " занят, эмулятор банковского шлюза не запущен");
+            return null;
+        }
+    }
+
+    public static GateEmulator start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "gate-emulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/payment", GateEmulator::handle);
+        server.createContext("/credit", GateEmulator::handle);
+        server.setExecutor(executor);
+        server.start();
+        return new GateEmulator(server, executor);
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, new byte[0]);
+                return;
+            }
+            byte[] answer = cards.get(readCardNumber(exchange.getRequestBody()));
+            if (answer == null) {
+                respond(exchange, 400, UNKNOWN_CARD);
+            } else {
+                respond(exchange, 200, answer);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String readCardNumber(InputStream body) throws IOException {
+        String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            JsonObject request = JsonParser.parseString(json).getAsJsonObject();
+            return request.has("number") && !request.get("number").isJsonNull()
+                    ? request.get("number").getAsString()
+                    : null;
+        } catch (JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
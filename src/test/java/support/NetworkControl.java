@@ -0,0 +1,63 @@
+package support;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+public class NetworkControl {
+    private static final boolean ENABLED = Boolean.getBoolean("network.control");
+    // тестам нужны только разметка, скрипты и XHR к /api/v1, остальное браузер не скачивает
+    private static final List<String> BLOCKED = List.of(
+            "*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.ico", "*.webp",
+            "*.woff", "*.woff2", "*.ttf", "*.otf", "*.mp4", "*.webm");
+    private static final String API_TIMINGS = "var entries = performance.getEntriesByType('resource')" +
+            "  .filter(function (e) { return e.name.indexOf('/api/v1/') >= 0; })" +
+            "  .map(function (e) { return {" +
+            "    url: e.name, initiator: e.initiatorType," +
+            "    startMillis: Math.round(e.startTime), durationMillis: Math.round(e.duration)," +
+            "    waitingMillis: e.responseStart > 0 ? Math.round(e.responseStart - e.requestStart) : null," +
+            "    transferBytes: e.transferSize }; });" +
+            "performance.clearResourceTimings();" +
+            "return entries;";
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Set<WebDriver> configured = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private NetworkControl() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void apply() {
+        if (!ENABLED) {
+            return;
+        }
+        WebDriver driver = WebDriverRunner.getAndCheckWebDriver();
+        if (!(driver instanceof HasCdp) || !configured.add(driver)) {
+            return;
+        }
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.enable", Map.of());
+        cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED));
+        cdp.executeCdpCommand("Network.setCacheDisabled", Map.of("cacheDisabled", false));
+    }
+
+    public static String collectApiTimings() {
+        if (!ENABLED || !WebDriverRunner.hasWebDriverStarted()) {
+            return null;
+        }
+        Object entries = ((JavascriptExecutor) WebDriverRunner.getWebDriver()).executeScript(API_TIMINGS);
+        return gson.toJson(entries);
+    }
+}
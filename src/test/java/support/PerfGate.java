@@ -0,0 +1,201 @@
+package support;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+public class PerfGate {
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final double SIGMAS = Double.parseDouble(System.getProperty("perf.sigmas", "3"));
+    private static final double RELATIVE_TOLERANCE = Double.parseDouble(System.getProperty("perf.tolerance", "0.2"));
+    private static final double ABSOLUTE_FLOOR_SECONDS = Double.parseDouble(System.getProperty("perf.floor", "0.25"));
+    private static final int MIN_SAMPLES = Integer.getInteger("perf.minSamples", 5);
+    private static final String[] GATED_STEPS = {"verifySuccessNotification", "verifyErrorNotification"};
+
+    // одна запись в Stat — один прогон: среднее метрики за этот прогон
+    static class Stat {
+        double mean;
+        double stddev;
+        long runs;
+
+        static Stat of(List<Double> values) {
+            Stat stat = new Stat();
+            values.forEach(stat::add);
+            return stat;
+        }
+
+        // алгоритм Уэлфорда: обновляем среднее и дисперсию без хранения всей истории
+        void add(double value) {
+            double m2 = stddev * stddev * Math.max(runs - 1, 0);
+            runs++;
+            double delta = value - mean;
+            mean += delta / runs;
+            m2 += delta * (value - mean);
+            stddev = runs > 1 ? Math.sqrt(m2 / (runs - 1)) : 0;
+        }
+
+        // stddev — разброс средних между прогонами, с ним и сравниваем среднее текущего прогона
+        double limit() {
+            return mean + Math.max(SIGMAS * stddev, Math.max(RELATIVE_TOLERANCE * mean, ABSOLUTE_FLOOR_SECONDS));
+        }
+    }
+
+    static class Baseline {
+        Map<String, Stat> suite = new TreeMap<>();
+        Map<String, Stat> tests = new TreeMap<>();
+        Map<String, Stat> steps = new TreeMap<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args[0];
+        Path baselineFile = Paths.get(args[1]);
+        Path testResults = Paths.get(args[2]);
+        Path timingsDir = Paths.get(args[3]);
+
+        Baseline baseline = Files.exists(baselineFile)
+                ? gson.fromJson(Files.readString(baselineFile), Baseline.class)
+                : new Baseline();
+        Map<String, List<Double>> suite = readSuiteWallTime(timingsDir);
+        Map<String, List<Double>> tests = readTestDurations(testResults);
+        Map<String, List<Double>> steps = new TreeMap<>();
+        for (Path timingsFile : reportFiles(timingsDir, "timings")) {
+            readStepDurations(timingsFile).forEach((step, values) ->
+                    steps.computeIfAbsent(step, k -> new ArrayList<>()).addAll(values));
+        }
+
+        if ("update".equals(mode)) {
+            merge(baseline.suite, suite);
+            merge(baseline.tests, tests);
+            merge(baseline.steps, steps);
+            Files.writeString(baselineFile, gson.toJson(baseline));
+            System.out.println("Базовая линия обновлена: " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        List<String> failures = new ArrayList<>();
+        compare("suite", baseline.suite, suite, key -> true, failures);
+        compare("test", baseline.tests, tests, key -> false, failures);
+        compare("step", baseline.steps, steps, PerfGate::isGatedStep, failures);
+        if (!failures.isEmpty()) {
+            failures.forEach(System.out::println);
+            throw new IllegalStateException("Обнаружена регрессия производительности: " + failures.size());
+        }
+        System.out.println("Регрессий производительности не обнаружено");
+    }
+
+    private static boolean isGatedStep(String step) {
+        for (String gated : GATED_STEPS) {
+            if (step.endsWith(gated)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void merge(Map<String, Stat> baseline, Map<String, List<Double>> current) {
+        // шаг за прогон выполняется много раз; каждый замер в базе считался бы отдельным прогоном
+        current.forEach((key, values) -> baseline.computeIfAbsent(key, k -> new Stat()).add(Stat.of(values).mean));
+    }
+
+    private static void compare(String kind, Map<String, Stat> baseline, Map<String, List<Double>> current,
+                                Predicate<String> gated, List<String> failures) {
+        for (Map.Entry<String, List<Double>> entry : current.entrySet()) {
+            Stat expected = baseline.get(entry.getKey());
+            if (expected == null || expected.runs < MIN_SAMPLES) {
+                // по одному-двум прогонам разброс неизвестен, такой базе верить нельзя
+                if (gated.test(entry.getKey())) {
+                    System.out.printf("нет базы %s %s: %d прогонов из %d нужных%n", kind, entry.getKey(),
+                            expected == null ? 0 : expected.runs, MIN_SAMPLES);
+                }
+                continue;
+            }
+            double actual = Stat.of(entry.getValue()).mean;
+            double limit = expected.limit();
+            if (actual > limit) {
+                boolean failure = gated.test(entry.getKey());
+                String message = String.format(Locale.ROOT, "%s %s %s: %.3f с при базовых %.3f ± %.3f с (предел %.3f с)",
+                        failure ? "РЕГРЕССИЯ" : "предупреждение", kind, entry.getKey(),
+                        actual, expected.mean, expected.stddev, limit);
+                if (failure) {
+                    failures.add(message);
+                } else {
+                    System.out.println(message);
+                }
+            }
+        }
+    }
+
+    private static Map<String, List<Double>> readSuiteWallTime(Path timingsDir) throws Exception {
+        // форки идут одновременно, поэтому время прогона — время самого долгого из них
+        double wallSeconds = -1;
+        for (Path suiteFile : reportFiles(timingsDir, "suite")) {
+            JsonObject suiteJson = JsonParser.parseString(Files.readString(suiteFile)).getAsJsonObject();
+            wallSeconds = Math.max(wallSeconds, suiteJson.get("wallSeconds").getAsDouble());
+        }
+        return wallSeconds < 0 ? new TreeMap<>() : new TreeMap<>(Map.of("wallSeconds", List.of(wallSeconds)));
+    }
+
+    private static List<Path> reportFiles(Path directory, String name) {
+        File[] files = directory.toFile().listFiles((dir, file) -> file.matches(name + "(-shard\\d+)?\\.json"));
+        List<Path> paths = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                paths.add(file.toPath());
+            }
+        }
+        return paths;
+    }
+
+    private static Map<String, List<Double>> readTestDurations(Path testResults) throws Exception {
+        Map<String, List<Double>> durations = new TreeMap<>();
+        File[] reports = testResults.toFile().listFiles((dir, name) -> name.endsWith(".xml"));
+        if (reports == null) {
+            return Map.of();
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        for (File report : reports) {
+            Document document = factory.newDocumentBuilder().parse(report);
+            NodeList cases = document.getElementsByTagName("testcase");
+            for (int i = 0; i < cases.getLength(); i++) {
+                Element testCase = (Element) cases.item(i);
+                if (testCase.getElementsByTagName("skipped").getLength() > 0) {
+                    continue;
+                }
+                String key = testCase.getAttribute("classname") + "#" + testCase.getAttribute("name");
+                durations.computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(Double.parseDouble(testCase.getAttribute("time")));
+            }
+        }
+        return durations;
+    }
+
+    private static Map<String, List<Double>> readStepDurations(Path timingsFile) throws Exception {
+        if (!Files.exists(timingsFile)) {
+            return Map.of();
+        }
+        TimingListener.StepTiming[] timings = new Gson().fromJson(Files.readString(timingsFile),
+                TimingListener.StepTiming[].class);
+        Map<String, List<Double>> durations = new TreeMap<>();
+        for (TimingListener.StepTiming timing : timings) {
+            durations.computeIfAbsent(timing.getStep(), k -> new ArrayList<>())
+                    .add(timing.getDurationMillis() / 1000.0);
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,67 @@
+package support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PerfGateTest {
+
+    @Test
+    @DisplayName("Среднее и стандартное отклонение по выборке")
+    void shouldComputeMeanAndSampleStddev() {
+        PerfGate.Stat stat = PerfGate.Stat.of(List.of(1.0, 2.0, 3.0, 4.0));
+
+        assertEquals(4, stat.runs);
+        assertEquals(2.5, stat.mean, 1e-9);
+        assertEquals(Math.sqrt(5.0 / 3), stat.stddev, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Пошаговое добавление даёт тот же результат, что и вся выборка сразу")
+    void shouldMergeIncrementally() {
+        PerfGate.Stat batch = PerfGate.Stat.of(List.of(0.8, 1.1, 0.9, 1.4, 1.0));
+        PerfGate.Stat incremental = PerfGate.Stat.of(List.of(0.8, 1.1));
+        incremental.add(0.9);
+        incremental.add(1.4);
+        incremental.add(1.0);
+
+        assertEquals(batch.runs, incremental.runs);
+        assertEquals(batch.mean, incremental.mean, 1e-9);
+        assertEquals(batch.stddev, incremental.stddev, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Прогон добавляет в базу одно среднее на шаг, сколько бы раз шаг ни выполнялся")
+    void shouldAddOneValuePerRun() {
+        Map<String, PerfGate.Stat> baseline = new TreeMap<>();
+        PerfGate.merge(baseline, Map.of("PaymentPage verifySuccessNotification", List.of(1.0, 2.0, 3.0, 2.0)));
+        PerfGate.merge(baseline, Map.of("PaymentPage verifySuccessNotification", List.of(4.0, 4.0)));
+
+        PerfGate.Stat stat = baseline.get("PaymentPage verifySuccessNotification");
+        assertEquals(2, stat.runs);
+        assertEquals(3.0, stat.mean, 1e-9);
+        assertEquals(Math.sqrt(2.0), stat.stddev, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Без разброса предел задаётся относительным допуском")
+    void shouldUseRelativeToleranceWithoutNoise() {
+        PerfGate.Stat stat = PerfGate.Stat.of(List.of(10.0, 10.0, 10.0));
+
+        assertEquals(0, stat.stddev, 1e-9);
+        assertEquals(12.0, stat.limit(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Для коротких шагов предел не меньше абсолютного порога")
+    void shouldUseAbsoluteFloorForShortSteps() {
+        PerfGate.Stat stat = PerfGate.Stat.of(List.of(0.1, 0.1));
+
+        assertEquals(0.35, stat.limit(), 1e-9);
+    }
+}
@@ -0,0 +1,112 @@
+package support;
+
+import data.ConnectionPool;
+import data.SQLHelper;
+import lombok.SneakyThrows;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class Shard {
+    private static final int FORKS = Integer.getInteger("forks", 1);
+
+    private static int index;
+    // блокировку держим до конца JVM, иначе слот сможет занять другой форк
+    private static FileLock lock;
+
+    private Shard() {
+    }
+
+    public static int getIndex() {
+        return index;
+    }
+
+    public static boolean isSharded() {
+        return FORKS > 1;
+    }
+
+    public static String fileSuffix() {
+        // отчёты форков лежат в одном каталоге, и без суффикса последний завершившийся затирал бы остальные
+        return isSharded() ? "-shard" + index : "";
+    }
+
+    @SneakyThrows
+    public static void configure() {
+        if (!isSharded()) {
+            return;
+        }
+        // эмулятор шлюза у каждого форка свой (9999 + N), а @ResourceLock разделяет окна заказов только внутри
+        // одной JVM, поэтому общий SUT или общая БД дали бы чужие отказы шлюза и неоднозначные заказы
+        String sutUrl = pick("sut.urls");
+        if (sutUrl == null) {
+            throw new IllegalStateException("При -Dforks=" + FORKS + " нужен свой SUT на каждый форк: " +
+                    "-Dsut.urls с " + FORKS + " адресами");
+        }
+        String dbUrl = pick("db.urls");
+        boolean schemaPerFork = Boolean.getBoolean("db.schema.perFork");
+        if (dbUrl == null && !schemaPerFork) {
+            throw new IllegalStateException("При -Dforks=" + FORKS + " нужна своя БД на каждый форк: " +
+                    "-Ddb.urls с " + FORKS + " строками подключения или -Ddb.schema.perFork=true");
+        }
+        index = claimSlot();
+        System.setProperty("sut.url", pick("sut.urls"));
+        System.setProperty("gate.port", String.valueOf(Integer.getInteger("gate.port", 9999) + index));
+        if (dbUrl != null) {
+            System.setProperty("db.url", pick("db.urls"));
+        } else {
+            // схему создаёт задача createShardSchemas до старта SUT: SUT N работает с ней весь прогон,
+            // поэтому форк её только очищает, но не создаёт и не удаляет
+            String schema = schemaName(index);
+            if (!SQLHelper.schemaExists(schema)) {
+                throw new IllegalStateException("Нет схемы " + schema + ": создайте схемы шардов до запуска SUT " +
+                        "командой ./gradlew createShardSchemas -Dforks=" + FORKS);
+            }
+            ConnectionPool.close();
+            System.setProperty("db.url", withSchema(System.getProperty("db.url"), schema));
+        }
+        System.out.printf("Шард %d из %d: SUT %s, БД %s, шлюз :%s%n", index, FORKS,
+                System.getProperty("sut.url"), System.getProperty("db.url"), System.getProperty("gate.port"));
+    }
+
+    public static String schemaName(int slot) {
+        return "app_shard" + slot;
+    }
+
+    private static int claimSlot() throws Exception {
+        Path directory = Paths.get(System.getProperty("shards.dir", "build/shards"));
+        Files.createDirectories(directory);
+        while (true) {
+            for (int slot = 0; slot < FORKS; slot++) {
+                FileChannel channel = FileChannel.open(directory.resolve("slot-" + slot + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock claimed = channel.tryLock();
+                if (claimed != null) {
+                    lock = claimed;
+                    return slot;
+                }
+                channel.close();
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    private static String pick(String listProperty) {
+        String list = System.getProperty(listProperty);
+        if (list == null || list.isBlank()) {
+            return null;
+        }
+        // адресов должно хватать на все форки: по кругу два форка попали бы в один SUT или одну БД
+        String[] values = list.split(",");
+        return values.length < FORKS ? null : values[index].trim();
+    }
+
+    static String withSchema(String jdbcUrl, String schema) {
+        int start = jdbcUrl.indexOf('/', jdbcUrl.indexOf("//") + 2);
+        int end = jdbcUrl.indexOf('?', start);
+        return jdbcUrl.substring(0, start + 1) + schema + (end < 0 ? "" : jdbcUrl.substring(end));
+    }
+}
@@ -0,0 +1,23 @@
+package support;
+
+import data.ConnectionPool;
+import data.SQLHelper;
+
+public class ShardSchemas {
+
+    private ShardSchemas() {
+    }
+
+    public static void main(String[] args) {
+        int forks = Integer.getInteger("forks", 2);
+        // схемы создаются один раз до запуска SUT шардов и дальше живут между прогонами: форки их только очищают
+        try {
+            for (int slot = 0; slot < forks; slot++) {
+                SQLHelper.cloneSchema(Shard.schemaName(slot));
+                System.out.println("Схема шарда готова: " + Shard.schemaName(slot));
+            }
+        } finally {
+            ConnectionPool.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardTest {
+
+    @Test
+    @DisplayName("Схема в строке подключения заменяется на схему шарда")
+    void shouldReplaceSchema() {
+        assertEquals("jdbc:mysql://localhost:3306/app_shard1",
+                Shard.withSchema("jdbc:mysql://localhost:3306/app", "app_shard1"));
+    }
+
+    @Test
+    @DisplayName("Параметры подключения сохраняются")
+    void shouldKeepParameters() {
+        assertEquals("jdbc:mysql://127.0.0.1:3307/app_shard0?useSSL=false&serverTimezone=UTC",
+                Shard.withSchema("jdbc:mysql://127.0.0.1:3307/app?useSSL=false&serverTimezone=UTC", "app_shard0"));
+    }
+}
@@ -0,0 +1,40 @@
+package support;
+
+import data.ConnectionPool;
+import data.SQLHelper;
+import lombok.SneakyThrows;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class SuiteLifecycle implements LauncherSessionListener {
+    private long startNanos;
+    private GateEmulator gateEmulator;
+
+    @Override
+    @SneakyThrows
+    public void launcherSessionOpened(LauncherSession session) {
+        startNanos = System.nanoTime();
+        Shard.configure();
+        gateEmulator = GateEmulator.startIfEnabled();
+        BrowserPool.warmUp();
+    }
+
+    @Override
+    @SneakyThrows
+    public void launcherSessionClosed(LauncherSession session) {
+        BrowserPool.shutdown();
+        if (gateEmulator != null) {
+            gateEmulator.stop();
+        }
+        Path reports = Paths.get(System.getProperty("timings.dir", "build/reports/timings"));
+        TimingListener.writeReports(reports, (System.nanoTime() - startNanos) / 1e9);
+        AdaptiveTimeouts.save(reports);
+        // пул открывают только классы, которые ходили в БД; чисто модульным прогонам MySQL не нужна
+        if (ConnectionPool.isOpen()) {
+            SQLHelper.cleanDatabase();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package support;
+
+import com.codeborne.selenide.logevents.LogEvent;
+import com.codeborne.selenide.logevents.LogEventListener;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.SneakyThrows;
+import lombok.Value;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+public class TimingListener implements LogEventListener {
+    public static final TimingListener INSTANCE = new TimingListener();
+
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    private static final Queue<StepTiming> timings = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<List<StepTiming>> currentTimings = new ThreadLocal<>();
+
+    private TimingListener() {
+    }
+
+    @Value
+    public static class StepTiming {
+        String test;
+        String step;
+        long durationMillis;
+        String status;
+    }
+
+    public static void startTest(String test) {
+        currentTest.set(test);
+        currentTimings.set(new ArrayList<>());
+    }
+
+    public static List<StepTiming> finishTest() {
+        List<StepTiming> testTimings = currentTimings.get();
+        currentTest.remove();
+        currentTimings.remove();
+        return testTimings == null ? List.of() : testTimings;
+    }
+
+    public static String toJson(List<StepTiming> stepTimings) {
+        return gson.toJson(stepTimings);
+    }
+
+    @Override
+    public void afterEvent(LogEvent event) {
+        String test = currentTest.get();
+        if (test == null) {
+            return;
+        }
+        StepTiming timing = new StepTiming(test, stepName(event), event.getDuration(), String.valueOf(event.getStatus()));
+        timings.add(timing);
+        currentTimings.get().add(timing);
+    }
+
+    @Override
+    public void beforeEvent(LogEvent event) {
+    }
+
+    private static String stepName(LogEvent event) {
+        // в subject попадают введённые значения — отрезаем аргументы, чтобы шаги агрегировались
+        String subject = event.getSubject();
+        int arguments = subject.indexOf('(');
+        String action = arguments > 0 ? subject.substring(0, arguments) : subject;
+        return event.getElement() + " " + action.trim();
+    }
+
+    @SneakyThrows
+    public static void writeReports(Path directory, double suiteWallSeconds) {
+        List<StepTiming> all = new ArrayList<>(timings);
+        if (all.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        String suffix = Shard.fileSuffix();
+        Files.writeString(directory.resolve("suite" + suffix + ".json"), gson.toJson(Map.of("wallSeconds", suiteWallSeconds)));
+        Files.writeString(directory.resolve("timings" + suffix + ".json"), gson.toJson(all));
+        Map<String, List<StepTiming>> bySteps = all.stream()
+                .collect(Collectors.groupingBy(StepTiming::getStep, TreeMap::new, Collectors.toList()));
+        StringBuilder prometheus = new StringBuilder()
+                .append("# HELP ui_step_duration_seconds Duration of Selenide and page object steps\n")
+                .append("# TYPE ui_step_duration_seconds summary\n");
+        for (Map.Entry<String, List<StepTiming>> step : bySteps.entrySet()) {
+            String label = "{step=\"" + step.getKey().replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+            double sum = step.getValue().stream().mapToLong(StepTiming::getDurationMillis).sum() / 1000.0;
+            prometheus.append("ui_step_duration_seconds_sum").append(label).append(' ')
+                    .append(String.format(Locale.ROOT, "%.3f", sum)).append('\n')
+                    .append("ui_step_duration_seconds_count").append(label).append(' ')
+                    .append(step.getValue().size()).append('\n');
+        }
+        Files.writeString(directory.resolve("timings" + suffix + ".prom"), prometheus.toString());
+    }
+}
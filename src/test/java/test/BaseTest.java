@@ -0,0 +1,67 @@
+package test;
+
+import api.ApiClient;
+import com.codeborne.selenide.WebDriverRunner;
+import com.codeborne.selenide.logevents.SelenideLogger;
+import data.ConnectionPool;
+import io.qameta.allure.Allure;
+import io.qameta.allure.selenide.AllureSelenide;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.openqa.selenium.WebDriverException;
+import page.MainPage;
+import support.BrowserPool;
+import support.NetworkControl;
+import support.TimingListener;
+
+import static com.codeborne.selenide.Selenide.open;
+
+public abstract class BaseTest {
+    private static final boolean SESSION_REUSE = Boolean.getBoolean("session.reuse");
+
+    @BeforeEach
+    void setUpBrowser(TestInfo testInfo) throws InterruptedException {
+        // слушатели SelenideLogger и WebDriver живут в ThreadLocal, поэтому регистрируем их в каждом потоке
+        SelenideLogger.addListener("allure", new AllureSelenide());
+        SelenideLogger.addListener("timing", TimingListener.INSTANCE);
+        TimingListener.startTest(getClass().getSimpleName() + " > " + testInfo.getDisplayName());
+        if (BrowserPool.isEnabled()) {
+            BrowserPool.lease();
+        }
+        NetworkControl.apply();
+        if (!(keepsSession() && resetSession())) {
+            open(ApiClient.getBaseUrl());
+        }
+    }
+
+    @AfterEach
+    void tearDownBrowser() {
+        Allure.addAttachment("Пул соединений БД", ConnectionPool.getMetrics().toString());
+        Allure.addAttachment("Длительность шагов", "application/json",
+                TimingListener.toJson(TimingListener.finishTest()), ".json");
+        String apiTimings = NetworkControl.collectApiTimings();
+        if (apiTimings != null) {
+            Allure.addAttachment("Запросы к API из браузера", "application/json", apiTimings, ".json");
+        }
+        SelenideLogger.removeListener("timing");
+        SelenideLogger.removeListener("allure");
+        BrowserPool.release();
+    }
+
+    protected boolean keepsSession() {
+        return SESSION_REUSE;
+    }
+
+    private static boolean resetSession() {
+        if (!WebDriverRunner.hasWebDriverStarted()
+                || !WebDriverRunner.url().startsWith(ApiClient.getBaseUrl())) {
+            return false;
+        }
+        try {
+            return MainPage.resetForm();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package test;
+
+import api.CreditApi;
+import data.DataHelper;
+import data.OrderTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class CreditApiTest {
+
+    @Test
+    @ResourceLock(OrderTracker.CREDIT_LOCK)
+    @DisplayName("API: Успешный кредит одобренной картой")
+    void shouldApproveCreditWithApprovedCard() {
+        new CreditApi().submit(DataHelper.getValidCardInfo()).verifyApproved();
+    }
+
+    @Test
+    @ResourceLock(OrderTracker.CREDIT_LOCK)
+    @DisplayName("API: Отказ в кредите отклоненной картой")
+    void shouldDeclineCreditWithDeclinedCard() {
+        new CreditApi().submit(DataHelper.getDeclinedCardInfo()).verifyDeclined();
+    }
+
+    @Test
+    @ResourceLock(OrderTracker.CREDIT_LOCK)
+    @DisplayName("API: Отказ в кредите с несуществующим номером карты")
+    void shouldRejectCreditWithNonExistentCard() {
+        DataHelper.CardInfo cardInfo = new DataHelper.CardInfo(
+                DataHelper.getInvalidCardNumber(),
+                DataHelper.getMonth(1),
+                DataHelper.getYear(1),
+                DataHelper.getLatinHolder(),
+                DataHelper.getCVC());
+
+        new CreditApi().submit(cardInfo).verifyRejected();
+    }
+
+    @ParameterizedTest(name = "API: Отказ в кредите: {0}")
+    @ResourceLock(OrderTracker.CREDIT_LOCK)
+    @MethodSource("test.InvalidCards#cases")
+    void shouldRejectCreditWithInvalidData(String caseName, DataHelper.CardInfo cardInfo) {
+        new CreditApi().submit(cardInfo).verifyRejected();
+    }
+}
@@ -0,0 +1,77 @@
+package test;
+
+import data.DataHelper;
+import org.junit.jupiter.params.provider.Arguments;
+import page.CardField;
+import page.ErrorExpectations;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static page.ErrorExpectations.expect;
+
+public class InvalidCards {
+    private static final String INVALID_FORMAT = "Неверный формат";
+    private static final String REQUIRED = "Поле обязательно для заполнения";
+    private static final String EXPIRED = "Истёк срок действия карты";
+    private static final String INVALID_EXPIRATION = "Неверно указан срок действия карты";
+
+    private InvalidCards() {
+    }
+
+    static Stream<Arguments> cases() {
+        String number = DataHelper.getApprovedCardNumber();
+        String month = DataHelper.getMonth(1);
+        String year = DataHelper.getYear(1);
+        String holder = DataHelper.getLatinHolder();
+        String cvc = DataHelper.getCVC();
+        return Stream.of(
+                row("Пустой номер карты",
+                        new DataHelper.CardInfo("", month, year, holder, cvc),
+                        expect(CardField.NUMBER, INVALID_FORMAT, REQUIRED)),
+                row("Неполный номер карты",
+                        new DataHelper.CardInfo(DataHelper.getShortCardNumber(), month, year, holder, cvc),
+                        expect(CardField.NUMBER, INVALID_FORMAT)),
+                row("Пустое поле месяца",
+                        new DataHelper.CardInfo(number, "", year, holder, cvc),
+                        expect(CardField.MONTH, INVALID_FORMAT, REQUIRED)),
+                row("Неверный формат месяца (13)",
+                        new DataHelper.CardInfo(number, DataHelper.getInvalidMonth(), year, holder, cvc),
+                        expect(CardField.MONTH, EXPIRED, INVALID_EXPIRATION)),
+                row("Нулевой месяц",
+                        new DataHelper.CardInfo(number, "00", year, holder, cvc),
+                        expect(CardField.MONTH, EXPIRED, INVALID_EXPIRATION)),
+                row("Истекший срок действия карты (месяц)",
+                        new DataHelper.CardInfo(number, DataHelper.getMonth(-1), DataHelper.getYear(0), holder, cvc),
+                        expect(CardField.MONTH, EXPIRED, INVALID_EXPIRATION)),
+                row("Пустое поле года",
+                        new DataHelper.CardInfo(number, month, "", holder, cvc),
+                        expect(CardField.YEAR, INVALID_FORMAT, REQUIRED)),
+                row("Неверный формат года (одна цифра)",
+                        new DataHelper.CardInfo(number, month, "1", holder, cvc),
+                        expect(CardField.YEAR, INVALID_FORMAT)),
+                row("Истекший срок действия карты (год)",
+                        new DataHelper.CardInfo(number, DataHelper.getMonth(0), DataHelper.getYear(-1), holder, cvc),
+                        expect(CardField.YEAR, EXPIRED, INVALID_EXPIRATION)),
+                row("Год больше текущего на 6 лет",
+                        new DataHelper.CardInfo(number, month, DataHelper.getYear(6), holder, cvc),
+                        expect(CardField.YEAR, EXPIRED, INVALID_EXPIRATION)),
+                row("Пустое поле владельца",
+                        new DataHelper.CardInfo(number, month, year, "", cvc),
+                        expect(CardField.HOLDER, REQUIRED)),
+                row("Недопустимые символы в имени владельца",
+                        new DataHelper.CardInfo(number, month, year, DataHelper.getInvalidHolder(), cvc),
+                        expect(CardField.HOLDER, INVALID_FORMAT)),
+                row("Пустое поле CVC",
+                        new DataHelper.CardInfo(number, month, year, holder, ""),
+                        expect(CardField.CVC, INVALID_FORMAT, REQUIRED)),
+                row("Неполный CVC",
+                        new DataHelper.CardInfo(number, month, year, holder, DataHelper.getInvalidCVC()),
+                        expect(CardField.CVC, INVALID_FORMAT))
+        );
+    }
+
+    private static Arguments row(String name, DataHelper.CardInfo cardInfo, ErrorExpectations expectations) {
+        return arguments(name, cardInfo, expectations);
+    }
+}
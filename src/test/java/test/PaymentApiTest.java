@@ -0,0 +1,48 @@
+package test;
+
+import api.PaymentApi;
+import data.DataHelper;
+import data.OrderTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class PaymentApiTest {
+
+    @Test
+    @ResourceLock(OrderTracker.PAYMENT_LOCK)
+    @DisplayName("API: Успешная оплата одобренной картой")
+    void shouldApprovePaymentWithApprovedCard() {
+        new PaymentApi().submit(DataHelper.getValidCardInfo()).verifyApproved();
+    }
+
+    @Test
+    @ResourceLock(OrderTracker.PAYMENT_LOCK)
+    @DisplayName("API: Отказ в оплате отклоненной картой")
+    void shouldDeclinePaymentWithDeclinedCard() {
+        new PaymentApi().submit(DataHelper.getDeclinedCardInfo()).verifyDeclined();
+    }
+
+    @Test
+    @ResourceLock(OrderTracker.PAYMENT_LOCK)
+    @DisplayName("API: Отказ в оплате с несуществующим номером карты")
+    void shouldRejectPaymentWithNonExistentCard() {
+        DataHelper.CardInfo cardInfo = new DataHelper.CardInfo(
+                DataHelper.getInvalidCardNumber(),
+                DataHelper.getMonth(1),
+                DataHelper.getYear(1),
+                DataHelper.getLatinHolder(),
+                DataHelper.getCVC());
+
+        new PaymentApi().submit(cardInfo).verifyRejected();
+    }
+
+    @ParameterizedTest(name = "API: Отказ в оплате: {0}")
+    @ResourceLock(OrderTracker.PAYMENT_LOCK)
+    @MethodSource("test.InvalidCards#cases")
+    void shouldRejectPaymentWithInvalidData(String caseName, DataHelper.CardInfo cardInfo) {
+        new PaymentApi().submit(cardInfo).verifyRejected();
+    }
+}
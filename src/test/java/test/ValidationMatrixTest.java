@@ -0,0 +1,38 @@
+package test;
+
+import data.DataHelper;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import page.CardFormPage;
+import page.ErrorExpectations;
+import page.MainPage;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class ValidationMatrixTest extends BaseTest {
+
+    @Override
+    protected boolean keepsSession() {
+        return true;
+    }
+
+    static Stream<Arguments> matrix() {
+        return Stream.of("Оплата", "Кредит").flatMap(flow -> InvalidCards.cases().map(row -> {
+            Object[] columns = row.get();
+            return arguments(flow, columns[0], columns[1], columns[2]);
+        }));
+    }
+
+    @ParameterizedTest(name = "{0}: {1}")
+    @MethodSource("matrix")
+    void shouldShowFieldError(String flow, String caseName, DataHelper.CardInfo cardInfo,
+                              ErrorExpectations expectations) {
+        MainPage mainPage = new MainPage();
+        CardFormPage page = "Оплата".equals(flow) ? mainPage.goToPaymentPage() : mainPage.goToCreditPage();
+        page.fillForm(cardInfo);
+        page.verifyErrors(expectations);
+    }
+}
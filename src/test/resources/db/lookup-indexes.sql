@@ -0,0 +1,9 @@
+-- Необязательная миграция: индексы под выборки тестов (окна заказов и поиск статусов).
+-- В схеме SUT их нет, применяется к его БД отдельно: ./gradlew applyLookupIndexes
+CREATE INDEX order_entity_created_idx ON order_entity (created);
+CREATE INDEX order_entity_payment_id_idx ON order_entity (payment_id);
+CREATE INDEX order_entity_credit_id_idx ON order_entity (credit_id);
+CREATE INDEX payment_entity_created_idx ON payment_entity (created);
+CREATE INDEX payment_entity_transaction_id_idx ON payment_entity (transaction_id);
+CREATE INDEX credit_request_entity_created_idx ON credit_request_entity (created);
+CREATE INDEX credit_request_entity_bank_id_idx ON credit_request_entity (bank_id);